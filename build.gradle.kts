@@ -1,8 +1,10 @@
 plugins {
     id("java")
+    id("java-test-fixtures")
     id("maven-publish")
     id("signing")
     id("com.gradleup.nmcp").version("0.1.4")
+    id("me.champeau.jmh").version("0.7.2")
 }
 
 group = "de.clickism"
@@ -23,6 +25,40 @@ repositories {
 dependencies {
     compileOnly("org.spigotmc:spigot-api:1.20.1-R0.1-SNAPSHOT")
     compileOnly("org.jetbrains:annotations:24.0.0")
+
+    // The headless server used by the benchmarks needs the API at runtime
+    testFixturesApi("org.spigotmc:spigot-api:1.20.1-R0.1-SNAPSHOT")
+    testFixturesCompileOnly("org.jetbrains:annotations:24.0.0")
+    jmhImplementation(testFixtures(project))
+
+    // The tests run against the headless server of the test fixtures
+    testImplementation(platform("org.junit:junit-bom:5.10.2"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
+
+// Stores the results of the last benchmark run as the baseline, which is committed
+// so that changes in performance show up in review
+tasks.register<Copy>("jmhBaseline") {
+    group = "benchmark"
+    description = "Runs the benchmarks and stores the results as the baseline."
+    dependsOn(tasks.named("jmh"))
+    from(layout.buildDirectory.file("results/jmh/results.json"))
+    into(layout.projectDirectory.dir("benchmarks"))
+    rename { "baseline.json" }
 }
 
 val targetJavaVersion = 17
@@ -62,6 +98,18 @@ tasks.register<Jar>("javadocJar") {
     archiveClassifier.set("javadoc")
 }
 
+tasks.register<JavaExec>("loadSimulation") {
+    group = "benchmark"
+    description = "Simulates players using menus on a headless server. Pass options using --args."
+    classpath = sourceSets["testFixtures"].runtimeClasspath
+    mainClass.set("de.clickism.clickgui.headless.LoadSimulation")
+}
+
+// The headless server is only used for benchmarking, and is not published
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
+
 publishing {
     publications {
         create<MavenPublication>("mavenJava") {
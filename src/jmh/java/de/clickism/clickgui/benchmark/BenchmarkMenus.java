@@ -0,0 +1,81 @@
+package de.clickism.clickgui.benchmark;
+
+import de.clickism.clickgui.menu.*;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+
+import java.util.function.IntFunction;
+
+/**
+ * Creates the menus used by the benchmarks.
+ */
+final class BenchmarkMenus {
+    /**
+     * The type of the benchmarked menus.
+     */
+    static final MenuType TYPE = MenuType.MENU_9X5;
+
+    private BenchmarkMenus() {
+    }
+
+    /**
+     * Creates a menu with the given number of decorated buttons on a background.
+     *
+     * @param player  the player viewing the menu
+     * @param buttons the number of buttons
+     * @return the menu
+     */
+    static Menu createMenu(Player player, int buttons) {
+        return createMenu(player, buttons, BenchmarkMenus::createButton);
+    }
+
+    /**
+     * Creates a menu with the given number of buttons on a background.
+     *
+     * @param player  the player viewing the menu
+     * @param buttons the number of buttons
+     * @param factory the factory creating the button of each slot
+     * @return the menu
+     */
+    static Menu createMenu(Player player, int buttons, IntFunction<Button> factory) {
+        Menu menu = new Menu(player, TYPE)
+                .setTitle("&8Benchmark")
+                .setBackground(slot -> Button.withIcon(Material.BLACK_STAINED_GLASS_PANE).setName(" "));
+        for (int slot = 0; slot < buttons; slot++) {
+            menu.addButton(slot, factory.apply(slot));
+        }
+        return menu;
+    }
+
+    /**
+     * Creates a template with the given number of decorated buttons on a background.
+     *
+     * @param buttons the number of buttons
+     * @return the template
+     */
+    static MenuTemplate createTemplate(int buttons) {
+        MenuTemplate.Builder builder = MenuTemplate.builder(TYPE)
+                .setTitle("&8Benchmark")
+                .setBackground(slot -> Button.withIcon(Material.BLACK_STAINED_GLASS_PANE).setName(" "));
+        for (int slot = 0; slot < buttons; slot++) {
+            builder.addButton(slot, createButton(slot));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a decorated button, like the buttons of a typical shop menu.
+     *
+     * @param slot the slot of the button
+     * @return the button
+     */
+    static Button createButton(int slot) {
+        return Button.withIcon(Icon.builder(Material.DIAMOND)
+                        .setName("&b&lItem #" + slot)
+                        .setLore("&7Price: &a" + slot * 10, "&7Stock: &e" + slot)
+                        .addLoreLine("&8Click to buy")
+                        .hideAllAttributes()
+                        .build())
+                .setOnClick(event -> {});
+    }
+}
@@ -0,0 +1,60 @@
+package de.clickism.clickgui.benchmark;
+
+import de.clickism.clickgui.headless.HeadlessPlayer;
+import de.clickism.clickgui.headless.HeadlessScheduler;
+import de.clickism.clickgui.headless.HeadlessServer;
+import de.clickism.clickgui.menu.MenuManager;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dispatching clicks to a button of an open menu through the {@link MenuManager},
+ * using the default {@link de.clickism.clickgui.menu.handler.StaticClickHandler}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClickDispatchBenchmark {
+    private static final int SLOT = 13;
+
+    private MenuManager menuManager;
+    private InventoryClickEvent click;
+    private InventoryClickEvent doubleClick;
+
+    @Setup
+    public void setup() {
+        HeadlessServer server = HeadlessServer.start();
+        server.reset();
+        menuManager = server.createMenuManager(new HeadlessScheduler());
+        HeadlessPlayer player = server.createPlayer("benchmark");
+        BenchmarkMenus.createMenu(player.getPlayer(), BenchmarkMenus.TYPE.getSize()).open(menuManager);
+        // A plain diamond, so that the double click check looks up the slots of all diamond buttons
+        // in the slot index, and rejects them by their meta hash without comparing the items
+        player.setCursor(new ItemStack(Material.DIAMOND));
+        click = new InventoryClickEvent(player.getOpenView(), InventoryType.SlotType.CONTAINER, SLOT,
+                ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        doubleClick = new InventoryClickEvent(player.getOpenView(), InventoryType.SlotType.CONTAINER, SLOT,
+                ClickType.DOUBLE_CLICK, InventoryAction.COLLECT_TO_CURSOR);
+    }
+
+    @Benchmark
+    public boolean click() {
+        click.setCancelled(false);
+        menuManager.onClick(click);
+        return click.isCancelled();
+    }
+
+    @Benchmark
+    public boolean doubleClick() {
+        doubleClick.setCancelled(false);
+        menuManager.onClick(doubleClick);
+        return doubleClick.isCancelled();
+    }
+}
@@ -0,0 +1,68 @@
+package de.clickism.clickgui.benchmark;
+
+import de.clickism.clickgui.headless.HeadlessServer;
+import de.clickism.clickgui.menu.Icon;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a decorated icon with a long chain of changes,
+ * using the fluent methods of {@link Icon}, an icon builder, and {@link Icon#edit}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IconChainBenchmark {
+    @Param({"2", "8"})
+    int loreLines;
+
+    @Setup
+    public void setup() {
+        HeadlessServer.start();
+    }
+
+    @Benchmark
+    public ItemStack fluent() {
+        Icon icon = Icon.of(Material.DIAMOND)
+                .setName("&b&lDiamond")
+                .setLore("&7A shiny diamond.");
+        for (int i = 0; i < loreLines; i++) {
+            icon = icon.addLoreLine("&7Line " + i);
+        }
+        return icon.hideAllAttributes()
+                .addEnchantmentGlint()
+                .get();
+    }
+
+    @Benchmark
+    public ItemStack builder() {
+        return Icon.builder(Material.DIAMOND)
+                .setName("&b&lDiamond")
+                .setLore("&7A shiny diamond.")
+                .runIf(true, builder -> {
+                    for (int i = 0; i < loreLines; i++) {
+                        builder.addLoreLine("&7Line " + i);
+                    }
+                })
+                .hideAllAttributes()
+                .addEnchantmentGlint()
+                .build()
+                .get();
+    }
+
+    @Benchmark
+    public ItemStack edit() {
+        return Icon.of(Material.DIAMOND)
+                .edit(builder -> {
+                    builder.setName("&b&lDiamond").setLore("&7A shiny diamond.");
+                    for (int i = 0; i < loreLines; i++) {
+                        builder.addLoreLine("&7Line " + i);
+                    }
+                    builder.hideAllAttributes().addEnchantmentGlint();
+                })
+                .get();
+    }
+}
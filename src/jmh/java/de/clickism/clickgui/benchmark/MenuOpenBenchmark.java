@@ -0,0 +1,46 @@
+package de.clickism.clickgui.benchmark;
+
+import de.clickism.clickgui.headless.HeadlessPlayer;
+import de.clickism.clickgui.headless.HeadlessScheduler;
+import de.clickism.clickgui.headless.HeadlessServer;
+import de.clickism.clickgui.menu.MenuManager;
+import de.clickism.clickgui.menu.MenuTemplate;
+import de.clickism.clickgui.menu.MenuView;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures opening a menu, including building its buttons, rendering its contents,
+ * and closing the previously opened menu.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MenuOpenBenchmark {
+    @Param({"9", "45"})
+    int buttons;
+
+    private MenuManager menuManager;
+    private HeadlessPlayer player;
+    private MenuTemplate template;
+
+    @Setup
+    public void setup() {
+        HeadlessServer server = HeadlessServer.start();
+        server.reset();
+        menuManager = server.createMenuManager(new HeadlessScheduler());
+        player = server.createPlayer("benchmark");
+        template = BenchmarkMenus.createTemplate(buttons);
+    }
+
+    @Benchmark
+    public MenuView open() {
+        return BenchmarkMenus.createMenu(player.getPlayer(), buttons).open(menuManager);
+    }
+
+    @Benchmark
+    public MenuView openTemplate() {
+        return template.open(player.getPlayer(), menuManager);
+    }
+}
@@ -0,0 +1,64 @@
+package de.clickism.clickgui.benchmark;
+
+import de.clickism.clickgui.headless.HeadlessScheduler;
+import de.clickism.clickgui.headless.HeadlessServer;
+import de.clickism.clickgui.menu.Button;
+import de.clickism.clickgui.menu.Icon;
+import de.clickism.clickgui.menu.MenuManager;
+import de.clickism.clickgui.menu.MenuView;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures refreshing all slots and a single slot of an open menu,
+ * both when the icons are unchanged and when every refresh renders a new icon.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MenuRefreshBenchmark {
+    private static final int SLOT = 13;
+
+    private MenuView unchangedView;
+    private MenuView changedView;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        HeadlessServer server = HeadlessServer.start();
+        server.reset();
+        MenuManager menuManager = server.createMenuManager(new HeadlessScheduler());
+        unchangedView = BenchmarkMenus.createMenu(server.createPlayer("unchanged").getPlayer(),
+                        BenchmarkMenus.TYPE.getSize())
+                .open(menuManager);
+        changedView = BenchmarkMenus.createMenu(server.createPlayer("changed").getPlayer(),
+                        BenchmarkMenus.TYPE.getSize(), this::createCounterButton)
+                .open(menuManager);
+    }
+
+    private Button createCounterButton(int slot) {
+        return Button.withIcon(() -> Icon.of(Material.PAPER).setName("&eCount: " + counter++));
+    }
+
+    @Benchmark
+    public void refreshAllUnchanged() {
+        unchangedView.refresh();
+    }
+
+    @Benchmark
+    public void refreshAllChanged() {
+        changedView.refresh();
+    }
+
+    @Benchmark
+    public void refreshSlotUnchanged() {
+        unchangedView.refresh(SLOT);
+    }
+
+    @Benchmark
+    public void refreshSlotChanged() {
+        changedView.refresh(SLOT);
+    }
+}
@@ -0,0 +1,114 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Represents an icon that cycles through a list of frames.
+ * <p>Animated icons are advanced by the {@link MenuManager} of the views they are shown in, which
+ * uses a single task to advance all animated icons and to refresh only the slots showing them.
+ * An animated icon shared by multiple views is only advanced once per period.</p>
+ */
+public class AnimatedIcon implements Icon {
+    private final List<Icon> frames;
+    private final int period;
+    private int frame;
+
+    /**
+     * The tick at which this icon is advanced next, or -1 if it is not scheduled.
+     */
+    long dueTick = -1;
+
+    /**
+     * Creates a new animated icon.
+     *
+     * @param period the number of ticks each frame is shown for
+     * @param frames the frames
+     */
+    protected AnimatedIcon(int period, List<Icon> frames) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        if (frames.isEmpty()) {
+            throw new IllegalArgumentException("Animated icon must have at least one frame");
+        }
+        this.period = period;
+        this.frames = new ArrayList<>(frames);
+    }
+
+    @Override
+    public ItemStack get() {
+        return frames.get(frame).get();
+    }
+
+    @Override
+    public ItemStack get(@Nullable Player viewer) {
+        return frames.get(frame).get(viewer);
+    }
+
+    /**
+     * Advances this icon to its next frame.
+     */
+    void advance() {
+        frame = (frame + 1) % frames.size();
+    }
+
+    /**
+     * Sets the material of all frames of this icon.
+     *
+     * @param material the material
+     * @return this icon
+     */
+    @Override
+    public Icon setMaterial(Material material) {
+        frames.replaceAll(icon -> icon.setMaterial(material));
+        return this;
+    }
+
+    /**
+     * Applies the consumer to the meta of all frames of this icon.
+     *
+     * @param consumer the consumer
+     * @return this icon
+     */
+    @Override
+    public Icon applyToMeta(Consumer<ItemMeta> consumer) {
+        frames.replaceAll(icon -> icon.applyToMeta(consumer));
+        return this;
+    }
+
+    /**
+     * Gets the number of ticks each frame is shown for.
+     *
+     * @return the period
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Gets the index of the current frame.
+     *
+     * @return the index of the current frame
+     */
+    public int getFrame() {
+        return frame;
+    }
+
+    /**
+     * Gets the frames of this icon.
+     *
+     * @return an unmodifiable view of the frames
+     */
+    public List<Icon> getFrames() {
+        return Collections.unmodifiableList(frames);
+    }
+}
@@ -0,0 +1,147 @@
+package de.clickism.clickgui.menu;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Advances the animated icons of all views of a menu manager using a single task.
+ * <p>Animated icons are scheduled on a timing wheel, so that each tick only
+ * the icons whose frame changes are visited.</p>
+ * <p>The driver is synchronized, since views may render animated icons on the threads
+ * owning their players while the driver ticks on another thread.</p>
+ */
+final class AnimationDriver {
+    /**
+     * The number of buckets of the timing wheel, must be a power of two.
+     */
+    private static final int WHEEL_SIZE = 64;
+
+    private final MenuScheduler scheduler;
+    private final List<List<AnimatedIcon>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Map<AnimatedIcon, Map<MenuView, BitSet>> slotsByIcon = new HashMap<>();
+
+    private long tick;
+    @Nullable
+    private MenuScheduler.Task task;
+
+    /**
+     * Creates a new animation driver.
+     *
+     * @param scheduler the scheduler to schedule the task with
+     */
+    AnimationDriver(MenuScheduler scheduler) {
+        this.scheduler = scheduler;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Tracks the animated icon shown in the given slot of the view.
+     *
+     * @param view the view
+     * @param slot the slot
+     * @param icon the animated icon
+     */
+    synchronized void track(MenuView view, int slot, AnimatedIcon icon) {
+        Map<MenuView, BitSet> views = slotsByIcon.get(icon);
+        if (views == null) {
+            views = new HashMap<>();
+            slotsByIcon.put(icon, views);
+            schedule(icon);
+        }
+        views.computeIfAbsent(view, v -> new BitSet()).set(slot);
+        if (task == null) {
+            task = scheduler.runRepeating(this::tick, 1);
+        }
+    }
+
+    /**
+     * Stops tracking all animated icons of the view.
+     *
+     * @param view the view
+     */
+    synchronized void untrack(MenuView view) {
+        Iterator<Map<MenuView, BitSet>> iterator = slotsByIcon.values().iterator();
+        while (iterator.hasNext()) {
+            Map<MenuView, BitSet> views = iterator.next();
+            views.remove(view);
+            if (views.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        stopIfIdle();
+    }
+
+    /**
+     * Stops tracking all animated icons.
+     */
+    synchronized void clear() {
+        // Reset the icons like advance(), so that they are scheduled again when they are tracked again
+        slotsByIcon.keySet().forEach(icon -> icon.dueTick = -1);
+        wheel.forEach(bucket -> bucket.forEach(icon -> icon.dueTick = -1));
+        slotsByIcon.clear();
+        wheel.forEach(List::clear);
+        stopIfIdle();
+    }
+
+    private void schedule(AnimatedIcon icon) {
+        if (icon.dueTick > tick) return; // Already scheduled
+        icon.dueTick = tick + icon.getPeriod();
+        wheel.get((int) (icon.dueTick & (WHEEL_SIZE - 1))).add(icon);
+    }
+
+    private synchronized void tick() {
+        tick++;
+        List<AnimatedIcon> bucket = wheel.get((int) (tick & (WHEEL_SIZE - 1)));
+        if (!bucket.isEmpty()) {
+            List<AnimatedIcon> dueIcons = new ArrayList<>();
+            // Icons with a period longer than the wheel stay in the bucket until their round comes
+            bucket.removeIf(icon -> {
+                if (icon.dueTick > tick) return false;
+                dueIcons.add(icon);
+                return true;
+            });
+            dueIcons.forEach(this::advance);
+        }
+        stopIfIdle();
+    }
+
+    private void advance(AnimatedIcon icon) {
+        icon.dueTick = -1;
+        Map<MenuView, BitSet> views = slotsByIcon.get(icon);
+        if (views == null) return;
+        icon.advance();
+        views.entrySet().removeIf(entry -> !refreshSlots(entry.getKey(), entry.getValue(), icon));
+        if (views.isEmpty()) {
+            slotsByIcon.remove(icon);
+            return;
+        }
+        schedule(icon);
+    }
+
+    /**
+     * Refreshes the slots of the view that still show the icon.
+     *
+     * @return true if any slot of the view still shows the icon
+     */
+    private boolean refreshSlots(MenuView view, BitSet slots, AnimatedIcon icon) {
+        if (view.isClosed()) return false;
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            Button button = view.getMenu().getButton(slot);
+            if (button == null || button.icon != icon) {
+                slots.clear(slot);
+                continue;
+            }
+            view.refresh(slot);
+        }
+        return !slots.isEmpty();
+    }
+
+    private void stopIfIdle() {
+        if (task == null || !slotsByIcon.isEmpty()) return;
+        task.cancel();
+        task = null;
+    }
+}
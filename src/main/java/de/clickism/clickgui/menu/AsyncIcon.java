@@ -0,0 +1,195 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Represents an icon whose contents are loaded asynchronously.
+ * <p>The icon shows a placeholder until it is loaded. Loading starts once the icon is shown
+ * in a menu view, and runs on the executor of the icon, or of the {@link MenuManager} if
+ * the icon has none. Once loaded, the slots showing the icon are refreshed on the threads owning
+ * the players of their views, if the views are still open.</p>
+ * <p>If loading fails or times out, the failure icon is shown instead. If all views showing
+ * the icon are closed before it is loaded, loading is cancelled.</p>
+ */
+public class AsyncIcon implements Icon {
+    private final Icon placeholder;
+    private final Supplier<Icon> loader;
+    private Icon failureIcon;
+    @Nullable
+    private Executor executor;
+    @Nullable
+    private Duration timeout;
+
+    private final Map<MenuView, BitSet> slotsByView = new HashMap<>();
+    @Nullable
+    private CompletableFuture<Icon> future;
+    @Nullable
+    private volatile Icon result;
+
+    /**
+     * Creates a new async icon.
+     *
+     * @param placeholder the icon to show while loading
+     * @param loader      the supplier that loads the icon, which is called asynchronously
+     */
+    protected AsyncIcon(Icon placeholder, Supplier<Icon> loader) {
+        this.placeholder = placeholder;
+        this.loader = loader;
+        this.failureIcon = placeholder;
+    }
+
+    @Override
+    public ItemStack get() {
+        Icon icon = result;
+        return (icon == null) ? placeholder.get() : icon.get();
+    }
+
+    @Override
+    public ItemStack get(@Nullable Player viewer) {
+        Icon icon = result;
+        return (icon == null) ? placeholder.get(viewer) : icon.get(viewer);
+    }
+
+    /**
+     * Sets the icon to show if loading fails or times out.
+     * <p>By default, the placeholder is shown.</p>
+     *
+     * @param failureIcon the failure icon
+     * @return this icon
+     */
+    public AsyncIcon setFailureIcon(Icon failureIcon) {
+        this.failureIcon = failureIcon;
+        return this;
+    }
+
+    /**
+     * Sets the executor to load the icon with.
+     * <p>By default, the executor of the menu manager is used.
+     * See {@link MenuManager#setAsyncExecutor(Executor)}.</p>
+     *
+     * @param executor the executor
+     * @return this icon
+     */
+    public AsyncIcon setExecutor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets the time after which loading fails.
+     *
+     * @param timeout the timeout, or null for no timeout
+     * @return this icon
+     */
+    public AsyncIcon setTimeout(@Nullable Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Loads the icon again, the current icon is shown until loading completes.
+     * <p>If the icon is not shown in any open view, it is loaded the next time it is shown.</p>
+     */
+    public synchronized void reload() {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+        if (slotsByView.isEmpty()) {
+            result = null;
+            return;
+        }
+        load(slotsByView.keySet().iterator().next().getMenuManager());
+    }
+
+    /**
+     * Checks whether the icon was loaded, either successfully or not.
+     *
+     * @return true if the icon was loaded
+     */
+    public boolean isLoaded() {
+        return result != null;
+    }
+
+    /**
+     * Tracks the given slot of the view showing this icon, starting to load the icon if needed.
+     *
+     * @param view the view
+     * @param slot the slot
+     */
+    synchronized void track(MenuView view, int slot) {
+        slotsByView.computeIfAbsent(view, v -> new BitSet()).set(slot);
+        if (result == null && future == null) {
+            load(view.getMenuManager());
+        }
+    }
+
+    /**
+     * Stops tracking the view, cancelling loading if no other views show this icon.
+     *
+     * @param view the view
+     */
+    synchronized void untrack(MenuView view) {
+        slotsByView.remove(view);
+        if (!slotsByView.isEmpty() || future == null) return;
+        future.cancel(false);
+        future = null;
+    }
+
+    private void load(MenuManager menuManager) {
+        Executor loadExecutor = (executor == null) ? menuManager.getAsyncExecutor() : executor;
+        CompletableFuture<Icon> loading = CompletableFuture.supplyAsync(loader, loadExecutor);
+        if (timeout != null) {
+            loading = loading.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        future = loading;
+        final CompletableFuture<Icon> current = loading;
+        loading.whenComplete((icon, throwable) -> complete(current, icon, throwable));
+    }
+
+    private void complete(CompletableFuture<Icon> completed, @Nullable Icon icon, @Nullable Throwable throwable) {
+        List<MenuView> views;
+        synchronized (this) {
+            if (future != completed) return; // Cancelled or reloaded in the meantime
+            future = null;
+            result = (throwable == null && icon != null) ? icon : failureIcon;
+            views = new ArrayList<>(slotsByView.keySet());
+        }
+        // Refresh the views on the threads owning their players
+        for (MenuView view : views) {
+            view.execute(() -> refreshSlots(view));
+        }
+    }
+
+    private void refreshSlots(MenuView view) {
+        BitSet slots;
+        synchronized (this) {
+            slots = slotsByView.get(view);
+            if (slots == null) return;
+            if (view.isClosed()) {
+                slotsByView.remove(view);
+                return;
+            }
+            slots = (BitSet) slots.clone();
+        }
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            Button button = view.getMenu().getButton(slot);
+            if (button != null && button.icon == this) {
+                view.refresh(slot);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * A menu scheduler that runs everything on the main thread using the Bukkit scheduler.
+ */
+final class BukkitMenuScheduler implements MenuScheduler {
+    private final JavaPlugin plugin;
+
+    /**
+     * Creates a new Bukkit menu scheduler.
+     *
+     * @param plugin the plugin to schedule tasks with
+     */
+    BukkitMenuScheduler(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(HumanEntity player) {
+        return Bukkit.isPrimaryThread();
+    }
+
+    @Override
+    public void execute(HumanEntity player, Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void runNextTick(Runnable task) {
+        Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public Task runRepeating(Runnable task, long period) {
+        return Bukkit.getScheduler().runTaskTimer(plugin, task, 1, period)::cancel;
+    }
+}
@@ -1,11 +1,14 @@
 package de.clickism.clickgui.menu;
 
 import org.bukkit.Material;
+import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -27,6 +30,31 @@ public class Button {
      * The action to perform when this button is clicked.
      */
     protected BiConsumer<InventoryClickEvent, MenuView> onClick = (event, view) -> {};
+    /**
+     * The limiter for clicks on this button, or null if clicks are not limited.
+     */
+    @Nullable
+    protected ClickLimiter clickLimiter;
+    /**
+     * The executor that runs the async click action of this button, or null to use
+     * the async executor of the menu manager.
+     */
+    @Nullable
+    protected Executor asyncExecutor;
+    /**
+     * What happens when this button is clicked while its async click action is in flight.
+     */
+    protected InFlightPolicy inFlightPolicy = InFlightPolicy.DROP;
+    /**
+     * Whether the async click action of this button locks the whole view while it is in flight,
+     * instead of only this button.
+     */
+    protected boolean lockViewWhileInFlight;
+    /**
+     * The icon shown in the slot of this button while its async click action is in flight, or null.
+     */
+    @Nullable
+    protected Icon processingIcon;
 
     /**
      * Creates a new button with the specified icon.
@@ -44,12 +72,24 @@ public class Button {
      * @param view  the view
      */
     protected void handleClick(InventoryClickEvent event, MenuView view) {
+        ButtonClickEvent clickEvent = new ButtonClickEvent();
+        clickEvent.begin();
         event.setCancelled(immovable);
         onClick.accept(event, view);
+        clickEvent.end();
+        if (clickEvent.shouldCommit()) {
+            Menu menu = view.getMenu();
+            clickEvent.menuId = menu.getId();
+            clickEvent.menuClass = menu.getClass();
+            clickEvent.slot = event.getRawSlot();
+            clickEvent.commit();
+        }
     }
 
     /**
      * Gets the icon of this button.
+     * <p>If the icon was interned using {@link #intern()}, it is shared with other buttons,
+     * so it must be modified using the methods of this button, which replace it with a modified copy.</p>
      *
      * @return the icon
      */
@@ -64,7 +104,7 @@ public class Button {
      * @return this button
      */
     public Button setName(@Colorized String name) {
-        icon.setName(name);
+        icon = icon.setName(name);
         return this;
     }
 
@@ -75,7 +115,7 @@ public class Button {
      * @return this button
      */
     public Button setMaterial(Material material) {
-        icon.setMaterial(material);
+        icon = icon.setMaterial(material);
         return this;
     }
 
@@ -85,7 +125,7 @@ public class Button {
      * @return this button
      */
     public Button hideAttributes() {
-        icon.hideAttributes();
+        icon = icon.hideAttributes();
         return this;
     }
 
@@ -95,7 +135,7 @@ public class Button {
      * @return this button
      */
     public Button hidePotionEffects() {
-        icon.hidePotionEffects();
+        icon = icon.hidePotionEffects();
         return this;
     }
 
@@ -105,7 +145,7 @@ public class Button {
      * @return this button
      */
     public Button hideAllAttributes() {
-        icon.hideAllAttributes();
+        icon = icon.hideAllAttributes();
         return this;
     }
 
@@ -115,7 +155,7 @@ public class Button {
      * @return this button
      */
     public Button addEnchantmentGlint() {
-        icon.addEnchantmentGlint();
+        icon = icon.addEnchantmentGlint();
         return this;
     }
 
@@ -126,7 +166,7 @@ public class Button {
      * @return this button
      */
     public Button setLore(@Colorized String... lore) {
-        icon.setLore(lore);
+        icon = icon.setLore(lore);
         return this;
     }
 
@@ -137,7 +177,7 @@ public class Button {
      * @return this button
      */
     public Button setLore(@Colorized List<String> lore) {
-        icon.setLore(lore);
+        icon = icon.setLore(lore);
         return this;
     }
 
@@ -147,7 +187,18 @@ public class Button {
      * @return this button
      */
     public Button addLoreLine(@Colorized String line) {
-        icon.addLoreLine(line);
+        icon = icon.addLoreLine(line);
+        return this;
+    }
+
+    /**
+     * Edits this button's icon using an icon builder. See {@link Icon#edit(Consumer)}.
+     *
+     * @param consumer the consumer that records the changes to the builder
+     * @return this button
+     */
+    public Button edit(Consumer<IconBuilder> consumer) {
+        icon = icon.edit(consumer);
         return this;
     }
 
@@ -165,14 +216,29 @@ public class Button {
         return this;
     }
 
+    /**
+     * Replaces the icon of this button with the interned icon with the same contents,
+     * so that it shares its item stack with all identical icons. See {@link Icon#intern()}.
+     * <p>Modifying the button afterwards replaces its icon with a modified copy,
+     * so the button should be interned once it is fully customized.</p>
+     *
+     * @return this button
+     */
+    public Button intern() {
+        icon = icon.intern();
+        return this;
+    }
+
     /**
      * Sets the action to perform when this button is clicked.
+     * <p>The action receives the player who clicked the button, which may be any of the
+     * viewers if the menu is shared. See {@link SharedMenu}.</p>
      *
      * @param action the action
      * @return this button
      */
     public Button setOnClick(ClickAction action) {
-        this.onClick = (event, view) -> action.onClick(view.getMenu().getPlayer(), view, event.getRawSlot());
+        this.onClick = (event, view) -> action.onClick((Player) event.getWhoClicked(), view, event.getRawSlot());
         return this;
     }
 
@@ -187,6 +253,86 @@ public class Button {
         return this;
     }
 
+    /**
+     * Sets the action to perform when this button is clicked, which runs asynchronously.
+     * <p>The click event is cancelled right away, and the action runs on the async executor
+     * of this button, or the async executor of the menu manager if none was set.
+     * See {@link MenuManager#setAsyncExecutor(Executor)}.</p>
+     * <p>While the action is in flight, further clicks on this button in the same view are dropped
+     * or queued depending on the {@link InFlightPolicy} of this button. Refreshing, opening and
+     * closing views is routed to the thread owning their player, so it may be done by the action.
+     * Other work that must happen on that thread can be run using {@link MenuView#execute(Runnable)}.</p>
+     *
+     * @param action the action
+     * @return this button
+     */
+    public Button setOnClickAsync(ClickAction action) {
+        this.onClick = (event, view) -> {
+            event.setCancelled(true);
+            view.runAsyncClick(this, action, (Player) event.getWhoClicked(), event.getRawSlot());
+        };
+        return this;
+    }
+
+    /**
+     * Sets the executor that runs the async click action of this button.
+     * See {@link #setOnClickAsync(ClickAction)}.
+     *
+     * @param asyncExecutor the executor, or null to use the async executor of the menu manager
+     * @return this button
+     */
+    public Button setAsyncExecutor(@Nullable Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    /**
+     * Sets what happens when this button is clicked while its async click action is in flight.
+     * <p>By default, the click is dropped.</p>
+     *
+     * @param inFlightPolicy the policy
+     * @return this button
+     */
+    public Button setInFlightPolicy(InFlightPolicy inFlightPolicy) {
+        this.inFlightPolicy = inFlightPolicy;
+        return this;
+    }
+
+    /**
+     * Makes the async click action of this button lock the whole view while it is in flight,
+     * so that clicks on all buttons of the view with this option are dropped or queued
+     * until it completed, instead of only clicks on this button.
+     *
+     * @return this button
+     */
+    public Button lockViewWhileInFlight() {
+        this.lockViewWhileInFlight = true;
+        return this;
+    }
+
+    /**
+     * Sets the icon shown in the slot of this button while its async click action is in flight.
+     *
+     * @param processingIcon the icon, or null to keep showing the icon of this button
+     * @return this button
+     */
+    public Button setProcessingIcon(@Nullable Icon processingIcon) {
+        this.processingIcon = processingIcon;
+        return this;
+    }
+
+    /**
+     * Sets the limiter for clicks on this button, which rejects clicks that exceed
+     * its limit before the click action runs. See {@link ClickLimiter}.
+     *
+     * @param clickLimiter the limiter, or null to not limit clicks
+     * @return this button
+     */
+    public Button setClickLimiter(@Nullable ClickLimiter clickLimiter) {
+        this.clickLimiter = clickLimiter;
+        return this;
+    }
+
     /**
      * Marks this button as movable, allowing it to be moved and removed from the inventory.
      *
@@ -204,7 +350,7 @@ public class Button {
      * @return this button
      */
     public Button applyToMeta(Consumer<ItemMeta> consumer) {
-        icon.applyToMeta(consumer);
+        icon = icon.applyToMeta(consumer);
         return this;
     }
 
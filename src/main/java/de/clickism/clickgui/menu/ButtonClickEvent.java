@@ -0,0 +1,24 @@
+package de.clickism.clickgui.menu;
+
+import jdk.jfr.*;
+
+/**
+ * A Flight Recorder event recorded when the click action of a button is run.
+ * <p>Disabled by default, and only recorded if the click action takes longer than the threshold.</p>
+ */
+@Name("de.clickism.clickgui.ButtonClick")
+@Label("Button Click")
+@Category("ClickGUI")
+@Description("Running the click action of a button")
+@Enabled(false)
+@Threshold("1 ms")
+final class ButtonClickEvent extends Event {
+    @Label("Menu Id")
+    String menuId;
+
+    @Label("Menu Class")
+    Class<?> menuClass;
+
+    @Label("Slot")
+    int slot;
+}
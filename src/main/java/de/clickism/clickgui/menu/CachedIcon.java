@@ -0,0 +1,116 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Represents an icon that caches its rendered item stack.
+ * <p>The icon is only rendered again if it was invalidated using {@link #invalidate()},
+ * or if its inputs changed since the last render.</p>
+ * <p>Changes made to the icon, i.e. using {@link #setName(String)}, are kept and
+ * applied again after every render.</p>
+ */
+public class CachedIcon implements Icon {
+    private final Supplier<Icon> renderer;
+    @Nullable
+    private final Supplier<?> inputs;
+    private final List<Consumer<ItemStack>> edits = new ArrayList<>();
+
+    @Nullable
+    private ItemStack item;
+    @Nullable
+    private Object lastInputs;
+    private boolean ownsItem;
+    private boolean dirty = true;
+    private long version;
+
+    /**
+     * Creates a new cached icon.
+     *
+     * @param renderer the supplier used to render the icon
+     * @param inputs   the supplier of the inputs of the icon, or null if
+     *                 the icon should only be rendered again when invalidated
+     */
+    protected CachedIcon(Supplier<Icon> renderer, @Nullable Supplier<?> inputs) {
+        this.renderer = renderer;
+        this.inputs = inputs;
+    }
+
+    @Override
+    public ItemStack get() {
+        if (inputs != null) {
+            Object currentInputs = inputs.get();
+            if (!Objects.equals(currentInputs, lastInputs)) {
+                lastInputs = currentInputs;
+                dirty = true;
+            }
+        }
+        if (dirty || item == null) {
+            render();
+        }
+        return item;
+    }
+
+    private void render() {
+        ItemStack rendered = renderer.get().get();
+        // Don't modify the item of the rendered icon, in case it is shared
+        ownsItem = !edits.isEmpty();
+        item = ownsItem ? rendered.clone() : rendered;
+        edits.forEach(edit -> edit.accept(item));
+        dirty = false;
+        version++;
+    }
+
+    @Override
+    public Icon setMaterial(Material material) {
+        return addEdit(item -> item.setType(material));
+    }
+
+    @Override
+    public Icon applyToMeta(Consumer<ItemMeta> consumer) {
+        return addEdit(item -> {
+            ItemMeta meta = item.getItemMeta();
+            if (meta == null) return;
+            consumer.accept(meta);
+            item.setItemMeta(meta);
+        });
+    }
+
+    private CachedIcon addEdit(Consumer<ItemStack> edit) {
+        edits.add(edit);
+        if (item != null && !dirty) {
+            if (!ownsItem) {
+                item = item.clone();
+                ownsItem = true;
+            }
+            edit.accept(item);
+            version++;
+        }
+        return this;
+    }
+
+    /**
+     * Invalidates this icon, so that it is rendered again the next time it is accessed.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Gets the version of this icon, which changes every time the
+     * rendered item stack is rendered again or modified.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,136 @@
+package de.clickism.clickgui.menu;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often each player can click a button, rejecting clicks that exceed the limit
+ * before the click action of the button runs.
+ * <p>A limiter can be set for a button using {@link Button#setClickLimiter(ClickLimiter)}, or for all
+ * buttons of a menu using {@link Menu#setClickLimiter(ClickLimiter)}. Rejected clicks are cancelled.</p>
+ * <p>The limiter keeps its state per player, so it can be shared by multiple buttons and menus
+ * to limit clicks across all of them.</p>
+ */
+public final class ClickLimiter {
+    /**
+     * The number of clicks after which the state of players with full buckets is purged.
+     */
+    private static final int PURGE_INTERVAL = 1024;
+
+    private final long refillNanos;
+    private final long burstNanos;
+    /**
+     * The time at which the bucket of each player is full again.
+     */
+    private final Map<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger clicks = new AtomicInteger();
+    private final LongAdder rejectedClicks = new LongAdder();
+
+    private ClickLimiter(int capacity, long refillNanos) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, got " + capacity);
+        }
+        if (refillNanos <= 0) {
+            throw new IllegalArgumentException("Refill interval must be positive");
+        }
+        this.refillNanos = refillNanos;
+        this.burstNanos = (capacity - 1) * refillNanos;
+    }
+
+    /**
+     * Creates a limiter that only accepts one click per player in the given interval.
+     * <p>Clicks within the interval after the last accepted click are rejected.</p>
+     *
+     * @param interval the interval
+     * @return the limiter
+     */
+    public static ClickLimiter debounce(Duration interval) {
+        return new ClickLimiter(1, interval.toNanos());
+    }
+
+    /**
+     * Creates a limiter that gives each player a bucket of tokens, where each accepted click
+     * takes a token and one token is refilled per interval.
+     * <p>This allows bursts of up to {@code capacity} clicks, while limiting the sustained
+     * rate to one click per interval.</p>
+     *
+     * @param capacity       the number of tokens in a full bucket
+     * @param refillInterval the time it takes to refill one token
+     * @return the limiter
+     */
+    public static ClickLimiter tokenBucket(int capacity, Duration refillInterval) {
+        return new ClickLimiter(capacity, refillInterval.toNanos());
+    }
+
+    /**
+     * Takes a token from the bucket of the player with the given UUID, if there is one.
+     *
+     * @param uuid the UUID of the player
+     * @return true if the click is accepted, false if it is rejected
+     */
+    public boolean tryAcquire(UUID uuid) {
+        long now = System.nanoTime();
+        if ((clicks.incrementAndGet() & (PURGE_INTERVAL - 1)) == 0) {
+            purge(now);
+        }
+        AtomicLong bucket = buckets.computeIfAbsent(uuid, key -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            if (start - now > burstNanos) {
+                rejectedClicks.increment();
+                return false;
+            }
+            if (bucket.compareAndSet(fullAt, start + refillNanos)) return true;
+        }
+    }
+
+    /**
+     * Returns a token taken by {@link #tryAcquire(UUID)} to the bucket of the player with the given UUID,
+     * i.e. because the click was rejected by another limiter.
+     *
+     * @param uuid the UUID of the player
+     */
+    void refund(UUID uuid) {
+        AtomicLong bucket = buckets.get(uuid);
+        if (bucket != null) {
+            bucket.addAndGet(-refillNanos);
+        }
+    }
+
+    /**
+     * Forgets the state of the player with the given UUID, refilling their bucket.
+     *
+     * @param uuid the UUID of the player
+     */
+    public void reset(UUID uuid) {
+        buckets.remove(uuid);
+    }
+
+    /**
+     * Forgets the state of all players whose buckets are full again.
+     * <p>This is done periodically while clicks are checked.</p>
+     */
+    public void purge() {
+        purge(System.nanoTime());
+    }
+
+    private void purge(long now) {
+        // A full bucket is indistinguishable from a new one
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    /**
+     * Gets the number of clicks rejected by this limiter.
+     *
+     * @return the number of rejected clicks
+     */
+    public long getRejectedClicks() {
+        return rejectedClicks.sum();
+    }
+}
@@ -5,6 +5,8 @@ import java.lang.annotation.Documented;
 /**
  * Annotation to mark string arguments that are automatically colorized.
  * See {@link Utils#colorize(String)}.
+ * <p>Text that is rendered repeatedly with changing values should be compiled
+ * into a {@link TextTemplate} instead.</p>
  */
 @Documented
 @interface Colorized {
@@ -0,0 +1,140 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Represents an icon that is personalized for its viewer, but only varies by a key derived
+ * from the viewer, i.e. their rank, locale or team.
+ * <p>The icon is rendered once per key, and the rendered item stacks are cached, evicting
+ * the least recently used keys. Refreshing many views only renders the icon once for each key.</p>
+ * <p>Changes made to the icon, i.e. using {@link #setName(String)}, are applied to the
+ * item stacks of all keys.</p>
+ * <p>If the icon is rendered without a viewer, i.e. for shared menus, the icon is rendered
+ * with a null key.</p>
+ *
+ * @param <K> the type of the key
+ */
+public class GroupedIcon<K> implements Icon {
+    private final Function<Player, K> keyFunction;
+    private final Function<K, Icon> renderer;
+    private final List<Consumer<ItemStack>> edits = new ArrayList<>();
+    private int maxSize = 64;
+
+    private final Map<K, ItemStack> items = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, ItemStack> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    /**
+     * Creates a new grouped icon.
+     *
+     * @param keyFunction the function that derives the key from the viewer
+     * @param renderer    the function that renders the icon for a key
+     */
+    protected GroupedIcon(Function<Player, K> keyFunction, Function<K, Icon> renderer) {
+        this.keyFunction = keyFunction;
+        this.renderer = renderer;
+    }
+
+    @Override
+    public ItemStack get() {
+        return get(null);
+    }
+
+    @Override
+    public ItemStack get(@Nullable Player viewer) {
+        K key = (viewer == null) ? null : keyFunction.apply(viewer);
+        synchronized (items) {
+            ItemStack item = items.get(key);
+            if (item == null) {
+                item = render(key);
+                items.put(key, item);
+            }
+            return item;
+        }
+    }
+
+    private ItemStack render(@Nullable K key) {
+        ItemStack rendered = renderer.apply(key).get();
+        if (edits.isEmpty()) return rendered;
+        // Don't modify the item of the rendered icon, in case it is shared
+        ItemStack item = rendered.clone();
+        edits.forEach(edit -> edit.accept(item));
+        return item;
+    }
+
+    @Override
+    public Icon setMaterial(Material material) {
+        return addEdit(item -> item.setType(material));
+    }
+
+    @Override
+    public Icon applyToMeta(Consumer<ItemMeta> consumer) {
+        return addEdit(item -> {
+            ItemMeta meta = item.getItemMeta();
+            if (meta == null) return;
+            consumer.accept(meta);
+            item.setItemMeta(meta);
+        });
+    }
+
+    private GroupedIcon<K> addEdit(Consumer<ItemStack> edit) {
+        synchronized (items) {
+            edits.add(edit);
+            items.clear();
+        }
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of keys whose rendered item stacks are cached.
+     * <p>By default, up to 64 keys are cached.</p>
+     *
+     * @param maxSize the maximum number of keys
+     * @return this icon
+     */
+    public GroupedIcon<K> setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1, got " + maxSize);
+        }
+        synchronized (items) {
+            this.maxSize = maxSize;
+        }
+        return this;
+    }
+
+    /**
+     * Invalidates the rendered item stacks of all keys, so that they are rendered
+     * again the next time they are accessed.
+     */
+    public void invalidate() {
+        synchronized (items) {
+            items.clear();
+        }
+    }
+
+    /**
+     * Invalidates the rendered item stack of the given key, so that it is rendered
+     * again the next time it is accessed.
+     *
+     * @param key the key
+     */
+    public void invalidate(@Nullable K key) {
+        synchronized (items) {
+            items.remove(key);
+        }
+    }
+}
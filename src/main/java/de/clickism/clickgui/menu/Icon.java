@@ -4,17 +4,22 @@ import org.bukkit.Material;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeModifier;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * Represents the icon of a button.
+ * <p>The methods that modify an icon return the modified icon, which is a modified copy
+ * if the icon is interned. See {@link IconRegistry}.</p>
  */
 @FunctionalInterface
 public interface Icon {
@@ -25,6 +30,19 @@ public interface Icon {
      */
     ItemStack get();
 
+    /**
+     * Gets the item stack of this icon for the given viewer.
+     * <p>By default, all viewers see the same item stack. See {@link GroupedIcon}
+     * for icons that are personalized for their viewers.</p>
+     *
+     * @param viewer the player viewing the icon, or null if the icon is
+     *               not rendered for a single player, i.e. for shared menus
+     * @return the item stack
+     */
+    default ItemStack get(@Nullable Player viewer) {
+        return get();
+    }
+
     /**
      * Sets the name of this icon.
      *
@@ -148,10 +166,39 @@ public interface Icon {
      * @return this icon
      */
     default Icon applyToMeta(Consumer<ItemMeta> consumer) {
-        ItemMeta meta = get().getItemMeta();
+        ItemStack item = get();
+        ItemMeta meta = item.getItemMeta();
         if (meta == null) return this;
         consumer.accept(meta);
-        get().setItemMeta(meta);
+        item.setItemMeta(meta);
+        return this;
+    }
+
+    /**
+     * Edits this icon using an icon builder, applying all changes made to the
+     * builder to the meta of this icon at once.
+     * <p>This is more efficient than calling multiple methods of this icon,
+     * since the item meta is only copied and written back once.</p>
+     *
+     * @param consumer the consumer that records the changes to the builder
+     * @return this icon
+     */
+    default Icon edit(Consumer<IconBuilder> consumer) {
+        IconBuilder builder = new IconBuilder(null);
+        consumer.accept(builder);
+        return builder.applyTo(this);
+    }
+
+    /**
+     * Gets the interned icon with the same contents as this icon, so that it shares its item stack
+     * with all identical icons. See {@link IconRegistry}.
+     * <p>Only static icons are interned, other icons return themselves. Interning is opt-in,
+     * since interned icons are shared: modifying an interned icon returns a modified copy and
+     * leaves the interned icon unchanged, so the returned icon must be used.</p>
+     *
+     * @return the interned icon, or this icon if it can't be interned
+     */
+    default Icon intern() {
         return this;
     }
 
@@ -185,8 +232,7 @@ public interface Icon {
      * @return the icon
      */
     static Icon of(ItemStack item) {
-        final ItemStack copy = item.clone();
-        return () -> copy;
+        return new StaticIcon(item.clone());
     }
 
     /**
@@ -196,12 +242,33 @@ public interface Icon {
      * @return the icon
      */
     static Icon of(Material material) {
-        final ItemStack item = new ItemStack(material);
-        return () -> item;
+        return new StaticIcon(new ItemStack(material));
+    }
+
+    /**
+     * Creates an icon builder for an icon with the given material.
+     *
+     * @param material the material
+     * @return the icon builder
+     */
+    static IconBuilder builder(Material material) {
+        return new IconBuilder(new ItemStack(material));
+    }
+
+    /**
+     * Creates an icon builder for an icon with a copy of the given item stack.
+     *
+     * @param item the item stack
+     * @return the icon builder
+     */
+    static IconBuilder builder(ItemStack item) {
+        return new IconBuilder(item.clone());
     }
 
     /**
      * Creates a dynamic icon from the given icon supplier.
+     * <p>The supplier is invoked every time the icon is accessed. See {@link #cached(Supplier)}
+     * for an icon that is only rendered again when needed.</p>
      *
      * @param iconSupplier the icon supplier
      * @return the icon
@@ -209,4 +276,80 @@ public interface Icon {
     static Icon of(Supplier<Icon> iconSupplier) {
         return () -> iconSupplier.get().get();
     }
+
+    /**
+     * Creates an icon that is loaded asynchronously, showing the placeholder until it is loaded.
+     * See {@link AsyncIcon}.
+     *
+     * @param placeholder the icon to show while loading
+     * @param loader      the supplier that loads the icon, which is called asynchronously
+     * @return the icon
+     */
+    static AsyncIcon async(Icon placeholder, Supplier<Icon> loader) {
+        return new AsyncIcon(placeholder, loader);
+    }
+
+    /**
+     * Creates an animated icon that cycles through the given frames.
+     * <p>Single frame animated icons can be used to refresh dynamic icons
+     * periodically, i.e. icons created using {@link #of(Supplier)}.</p>
+     *
+     * @param period the number of ticks each frame is shown for
+     * @param frames the frames
+     * @return the icon
+     */
+    static AnimatedIcon animated(int period, Icon... frames) {
+        return new AnimatedIcon(period, List.of(frames));
+    }
+
+    /**
+     * Creates an animated icon that cycles through the given frames.
+     *
+     * @param period the number of ticks each frame is shown for
+     * @param frames the frames
+     * @return the icon
+     */
+    static AnimatedIcon animated(int period, List<Icon> frames) {
+        return new AnimatedIcon(period, frames);
+    }
+
+    /**
+     * Creates an icon that is rendered once for each key derived from its viewers,
+     * i.e. their rank, locale or team. See {@link GroupedIcon}.
+     *
+     * @param keyFunction the function that derives the key from the viewer
+     * @param renderer    the function that renders the icon for a key, which is
+     *                    called with a null key if the icon is rendered without a viewer
+     * @param <K>         the type of the key
+     * @return the icon
+     */
+    static <K> GroupedIcon<K> grouped(Function<Player, K> keyFunction, Function<K, Icon> renderer) {
+        return new GroupedIcon<>(keyFunction, renderer);
+    }
+
+    /**
+     * Creates a cached icon from the given icon supplier.
+     * <p>The supplier is only invoked again after the icon was invalidated
+     * using {@link CachedIcon#invalidate()}.</p>
+     *
+     * @param iconSupplier the icon supplier
+     * @return the icon
+     */
+    static CachedIcon cached(Supplier<Icon> iconSupplier) {
+        return new CachedIcon(iconSupplier, null);
+    }
+
+    /**
+     * Creates a cached icon from the given icon supplier.
+     * <p>The supplier is only invoked again after the icon was invalidated
+     * using {@link CachedIcon#invalidate()}, or if the inputs supplied by the
+     * inputs supplier are no longer equal to the inputs of the last render.</p>
+     *
+     * @param iconSupplier the icon supplier
+     * @param inputs       the supplier of the inputs of the icon
+     * @return the icon
+     */
+    static CachedIcon cached(Supplier<Icon> iconSupplier, Supplier<?> inputs) {
+        return new CachedIcon(iconSupplier, inputs);
+    }
 }
@@ -0,0 +1,284 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Material;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Builds an icon by recording all changes and applying them to the item meta at once.
+ * <p>Unlike the methods of {@link Icon}, which copy and write back the item meta on every call,
+ * the changes recorded by this builder only require a single copy of the item meta.</p>
+ * <p>Changes to the lore are applied after all other changes, and consumers passed to
+ * {@link #applyToMeta(Consumer)} are applied last, in the order they were added.</p>
+ */
+public class IconBuilder {
+    @Nullable
+    private final ItemStack base;
+
+    @Nullable
+    private Material material;
+    @Nullable
+    private String name;
+    @Nullable
+    private List<String> lore;
+    private final List<String> addedLore = new ArrayList<>();
+    private final EnumSet<ItemFlag> itemFlags = EnumSet.noneOf(ItemFlag.class);
+    private boolean dummyAttributeModifier;
+    private boolean enchantmentGlint;
+    private final List<Consumer<ItemMeta>> metaConsumers = new ArrayList<>();
+
+    /**
+     * Creates a new icon builder.
+     *
+     * @param base the item stack to build the icon from, or null if the
+     *             builder is only used to edit existing icons
+     */
+    IconBuilder(@Nullable ItemStack base) {
+        this.base = base;
+    }
+
+    /**
+     * Sets the name of the icon.
+     *
+     * @param name the name
+     * @return this builder
+     */
+    public IconBuilder setName(@Colorized String name) {
+        this.name = Utils.colorize(name);
+        return this;
+    }
+
+    /**
+     * Sets the name of the icon by rendering the given template.
+     *
+     * @param template the template of the name
+     * @param values   the values of the placeholders by their names
+     * @return this builder
+     */
+    public IconBuilder setName(TextTemplate template, Map<String, ?> values) {
+        this.name = template.render(values);
+        return this;
+    }
+
+    /**
+     * Sets the material of the icon.
+     *
+     * @param material the material
+     * @return this builder
+     */
+    public IconBuilder setMaterial(Material material) {
+        this.material = material;
+        return this;
+    }
+
+    /**
+     * Hides the attributes of the icon.
+     *
+     * @return this builder
+     */
+    public IconBuilder hideAttributes() {
+        dummyAttributeModifier = true;
+        itemFlags.add(ItemFlag.HIDE_ATTRIBUTES);
+        return this;
+    }
+
+    /**
+     * Hides potion effects of the icon.
+     *
+     * @return this builder
+     */
+    public IconBuilder hidePotionEffects() {
+        dummyAttributeModifier = true;
+        itemFlags.add(ItemFlag.HIDE_POTION_EFFECTS);
+        return this;
+    }
+
+    /**
+     * Hides all attributes of the icon.
+     *
+     * @return this builder
+     */
+    public IconBuilder hideAllAttributes() {
+        dummyAttributeModifier = true;
+        itemFlags.addAll(List.of(ItemFlag.HIDE_ATTRIBUTES, ItemFlag.HIDE_POTION_EFFECTS, ItemFlag.HIDE_ARMOR_TRIM,
+                ItemFlag.HIDE_PLACED_ON, ItemFlag.HIDE_DESTROYS, ItemFlag.HIDE_DYE, ItemFlag.HIDE_UNBREAKABLE));
+        return this;
+    }
+
+    /**
+     * Adds the enchantment glint to the icon.
+     *
+     * @return this builder
+     */
+    public IconBuilder addEnchantmentGlint() {
+        enchantmentGlint = true;
+        itemFlags.add(ItemFlag.HIDE_ENCHANTS);
+        return this;
+    }
+
+    /**
+     * Sets the lore of the icon.
+     *
+     * @param lore the lore
+     * @return this builder
+     */
+    public IconBuilder setLore(@Colorized String... lore) {
+        return setLore(List.of(lore));
+    }
+
+    /**
+     * Sets the lore of the icon.
+     *
+     * @param lore the lore
+     * @return this builder
+     */
+    public IconBuilder setLore(@Colorized List<String> lore) {
+        List<String> colorizedLore = new ArrayList<>(lore.size());
+        for (String line : lore) {
+            colorizedLore.add(Utils.colorize(line));
+        }
+        this.lore = colorizedLore;
+        addedLore.clear();
+        return this;
+    }
+
+    /**
+     * Sets the lore of the icon by rendering the given templates.
+     *
+     * @param templates the templates of the lines
+     * @param values    the values of the placeholders by their names
+     * @return this builder
+     */
+    public IconBuilder setLore(List<TextTemplate> templates, Map<String, ?> values) {
+        this.lore = TextTemplate.render(templates, values);
+        addedLore.clear();
+        return this;
+    }
+
+    /**
+     * Adds a line to the lore of the icon.
+     *
+     * @param line the line
+     * @return this builder
+     */
+    public IconBuilder addLoreLine(@Colorized String line) {
+        addedLore.add(Utils.colorize(line));
+        return this;
+    }
+
+    /**
+     * Adds a line to the lore of the icon by rendering the given template.
+     *
+     * @param template the template of the line
+     * @param values   the values of the placeholders by their names
+     * @return this builder
+     */
+    public IconBuilder addLoreLine(TextTemplate template, Map<String, ?> values) {
+        addedLore.add(template.render(values));
+        return this;
+    }
+
+    /**
+     * Adds a consumer that is applied to the meta of the icon.
+     *
+     * @param consumer the consumer
+     * @return this builder
+     */
+    public IconBuilder applyToMeta(Consumer<ItemMeta> consumer) {
+        metaConsumers.add(consumer);
+        return this;
+    }
+
+    /**
+     * Runs the consumer if the condition is true.
+     *
+     * @param condition the condition
+     * @param consumer  the consumer
+     * @return this builder
+     */
+    public IconBuilder runIf(boolean condition, Consumer<IconBuilder> consumer) {
+        if (condition) {
+            consumer.accept(this);
+        }
+        return this;
+    }
+
+    /**
+     * Builds the icon, applying all recorded changes to a copy of the item stack of this builder.
+     *
+     * @throws IllegalStateException if this builder was not created with an item stack
+     * @return the icon
+     */
+    public Icon build() {
+        if (base == null) {
+            throw new IllegalStateException("Icon builder has no item stack to build from");
+        }
+        ItemStack item = base.clone();
+        applyTo(item);
+        return new StaticIcon(item);
+    }
+
+    /**
+     * Applies all recorded changes to the given icon.
+     *
+     * @param icon the icon
+     * @return the edited icon
+     */
+    Icon applyTo(Icon icon) {
+        if (material != null) {
+            icon = icon.setMaterial(material);
+        }
+        if (!hasMetaChanges()) return icon;
+        return icon.applyToMeta(this::applyTo);
+    }
+
+    private void applyTo(ItemStack item) {
+        if (material != null) {
+            item.setType(material);
+        }
+        if (!hasMetaChanges()) return;
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) return;
+        applyTo(meta);
+        item.setItemMeta(meta);
+    }
+
+    private boolean hasMetaChanges() {
+        return name != null || lore != null || !addedLore.isEmpty() || !itemFlags.isEmpty()
+               || dummyAttributeModifier || enchantmentGlint || !metaConsumers.isEmpty();
+    }
+
+    private void applyTo(ItemMeta meta) {
+        if (name != null) {
+            meta.setDisplayName(name);
+        }
+        if (dummyAttributeModifier) {
+            meta.addAttributeModifier(Attribute.GENERIC_MAX_HEALTH,
+                    new AttributeModifier("clickgui.hide_attributes", 0, AttributeModifier.Operation.ADD_NUMBER));
+        }
+        if (enchantmentGlint) {
+            meta.addEnchant(Enchantment.DURABILITY, 1, true);
+        }
+        if (!itemFlags.isEmpty()) {
+            meta.addItemFlags(itemFlags.toArray(new ItemFlag[0]));
+        }
+        if (lore != null || !addedLore.isEmpty()) {
+            List<String> currentLore = (lore != null) ? lore : meta.getLore();
+            List<String> newLore = (currentLore == null) ? new ArrayList<>() : new ArrayList<>(currentLore);
+            newLore.addAll(addedLore);
+            meta.setLore(newLore);
+        }
+        metaConsumers.forEach(consumer -> consumer.accept(meta));
+    }
+}
@@ -0,0 +1,106 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.ref.WeakReference;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Interns static icons by their contents, so that identical icons share a single item stack
+ * across all buttons and menus.
+ * <p>Sharing item stacks is safe, since the server copies item stacks written to inventories.
+ * Interned icons are copied on write: modifying an interned icon returns a modified copy, and
+ * leaves the interned icon unchanged. Buttons replace their icon with the returned copy.</p>
+ * <p>Icons are only interned when requested, using {@link Icon#intern()} or {@link Button#intern()}.</p>
+ * <p>Interned icons are only kept while they are used.</p>
+ */
+public final class IconRegistry {
+    /**
+     * The interned icons by their item stacks, which are compared by their contents.
+     */
+    private static final Map<ItemStack, WeakReference<StaticIcon>> icons = new WeakHashMap<>();
+    /**
+     * The interned icons of plain materials, which are looked up without creating an item stack.
+     */
+    private static final Map<Material, WeakReference<StaticIcon>> materialIcons = new EnumMap<>(Material.class);
+
+    private static long internedIcons;
+    private static long sharedIcons;
+
+    /**
+     * No constructor for registry class.
+     */
+    private IconRegistry() {
+    }
+
+    /**
+     * Gets the interned icon with the contents of the given item stack,
+     * interning a copy of the item stack if there is none.
+     *
+     * @param item the item stack, which is not modified
+     * @return the interned icon
+     */
+    public static synchronized Icon intern(ItemStack item) {
+        internedIcons++;
+        WeakReference<StaticIcon> reference = icons.get(item);
+        StaticIcon icon = (reference == null) ? null : reference.get();
+        if (icon != null) {
+            sharedIcons++;
+            return icon;
+        }
+        ItemStack copy = item.clone();
+        icon = new StaticIcon(copy, true);
+        icons.put(copy, new WeakReference<>(icon));
+        return icon;
+    }
+
+    /**
+     * Gets the interned icon of the given material, interning it if there is none.
+     *
+     * @param material the material
+     * @return the interned icon
+     */
+    public static synchronized Icon intern(Material material) {
+        WeakReference<StaticIcon> reference = materialIcons.get(material);
+        StaticIcon icon = (reference == null) ? null : reference.get();
+        if (icon != null) {
+            internedIcons++;
+            sharedIcons++;
+            return icon;
+        }
+        icon = (StaticIcon) intern(new ItemStack(material));
+        materialIcons.put(material, new WeakReference<>(icon));
+        return icon;
+    }
+
+    /**
+     * Gets the number of distinct interned icons that are still in use.
+     *
+     * @return the number of distinct icons
+     */
+    public static synchronized int getDistinctIcons() {
+        return icons.size();
+    }
+
+    /**
+     * Gets the number of times an icon was interned.
+     *
+     * @return the number of interned icons
+     */
+    public static synchronized long getInternedIcons() {
+        return internedIcons;
+    }
+
+    /**
+     * Gets the number of times an icon was interned and an existing icon was shared,
+     * instead of creating a new item stack.
+     *
+     * @return the number of shared icons
+     */
+    public static synchronized long getSharedIcons() {
+        return sharedIcons;
+    }
+}
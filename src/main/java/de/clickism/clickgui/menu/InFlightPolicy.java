@@ -0,0 +1,16 @@
+package de.clickism.clickgui.menu;
+
+/**
+ * Defines what happens when a button with an async click action is clicked
+ * while a previous click action is still in flight. See {@link Button#setOnClickAsync(ClickAction)}.
+ */
+public enum InFlightPolicy {
+    /**
+     * The click is dropped.
+     */
+    DROP,
+    /**
+     * The click is queued, and its action runs once the previous actions completed.
+     */
+    QUEUE
+}
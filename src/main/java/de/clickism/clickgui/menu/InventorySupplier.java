@@ -1,6 +1,9 @@
 package de.clickism.clickgui.menu;
 
+import org.bukkit.Bukkit;
+import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 
 /**
  * Represents a supplier of an {@link Inventory}.
@@ -14,4 +17,56 @@ public interface InventorySupplier {
      * @return a new inventory
      */
     Inventory create(String title);
+
+    /**
+     * Creates a new {@link Inventory} with the given holder and title.
+     * <p>By default, the holder is ignored.</p>
+     *
+     * @param holder the holder of the inventory
+     * @param title  the title of the inventory
+     * @return a new inventory
+     */
+    default Inventory create(InventoryHolder holder, String title) {
+        return create(title);
+    }
+
+    /**
+     * Creates an inventory supplier for chest inventories with the given size.
+     *
+     * @param size the size of the inventory, a multiple of 9
+     * @return the inventory supplier
+     */
+    static InventorySupplier of(int size) {
+        return new InventorySupplier() {
+            @Override
+            public Inventory create(String title) {
+                return Bukkit.createInventory(null, size, title);
+            }
+
+            @Override
+            public Inventory create(InventoryHolder holder, String title) {
+                return Bukkit.createInventory(holder, size, title);
+            }
+        };
+    }
+
+    /**
+     * Creates an inventory supplier for inventories of the given type.
+     *
+     * @param inventoryType the type of inventory
+     * @return the inventory supplier
+     */
+    static InventorySupplier of(InventoryType inventoryType) {
+        return new InventorySupplier() {
+            @Override
+            public Inventory create(String title) {
+                return Bukkit.createInventory(null, inventoryType, title);
+            }
+
+            @Override
+            public Inventory create(InventoryHolder holder, String title) {
+                return Bukkit.createInventory(holder, inventoryType, title);
+            }
+        };
+    }
 }
@@ -0,0 +1,88 @@
+package de.clickism.clickgui.menu;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a background that is evaluated once into a fixed layout of buttons for each menu size,
+ * which is shared by all menus with the background.
+ * <p>Layouts are created using the factories of {@link MenuBackground}, i.e. {@link MenuBackground#border(Button)},
+ * and assume rows of 9 slots, like chest menus.</p>
+ * <p>Since the buttons of the layout are shared, they should not be modified. The layout is only
+ * evaluated again after it was invalidated using {@link #invalidate()}.</p>
+ */
+public final class LayoutBackground implements MenuBackground {
+    /**
+     * The size of the largest chest menu, which is used if the size of the menu is unknown.
+     */
+    private static final int MAX_SIZE = 54;
+
+    private final Layout layout;
+    private final Map<Integer, Button[]> buttonsBySize = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new layout background.
+     *
+     * @param layout the function that evaluates the layout
+     */
+    LayoutBackground(Layout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Gets the background button at the specified slot, assuming a menu with 6 rows.
+     * <p>Menus use {@link #getButton(int, int)}, which takes their size into account.</p>
+     *
+     * @param slot the slot
+     * @return the button
+     */
+    @Override
+    @Nullable
+    public Button getButton(int slot) {
+        return getButton(slot, MAX_SIZE);
+    }
+
+    @Override
+    @Nullable
+    public Button getButton(int slot, int size) {
+        Button[] buttons = buttonsBySize.computeIfAbsent(size, this::evaluate);
+        return (slot < buttons.length) ? buttons[slot] : null;
+    }
+
+    private Button[] evaluate(int size) {
+        Button[] buttons = new Button[size];
+        int rows = (size + 8) / 9;
+        for (int slot = 0; slot < size; slot++) {
+            buttons[slot] = layout.getButton(slot / 9, slot % 9, rows);
+        }
+        return buttons;
+    }
+
+    /**
+     * Invalidates the evaluated layouts, so that they are evaluated again the next time
+     * a menu with this background is rendered.
+     * <p>Open views of menus with this background must be refreshed to show the new layout.</p>
+     */
+    public void invalidate() {
+        buttonsBySize.clear();
+    }
+
+    /**
+     * Evaluates the button at a position of the layout.
+     */
+    @FunctionalInterface
+    interface Layout {
+        /**
+         * Gets the button at the given position.
+         *
+         * @param row    the row, starting at 0
+         * @param column the column, starting at 0
+         * @param rows   the number of rows of the menu
+         * @return the button, or null if the slot is empty
+         */
+        @Nullable
+        Button getButton(int row, int column, int rows);
+    }
+}
@@ -2,10 +2,10 @@ package de.clickism.clickgui.menu;
 
 import de.clickism.clickgui.menu.handler.ClickHandler;
 import de.clickism.clickgui.menu.handler.StaticClickHandler;
-import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryType;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.function.Consumer;
@@ -15,7 +15,7 @@ import java.util.function.Consumer;
  */
 public class Menu {
     /**
-     * The player viewing the menu.
+     * The player viewing the menu, or null if the menu is shared by multiple players.
      */
     protected final Player player;
 
@@ -25,12 +25,33 @@ public class Menu {
     protected final int size;
     /**
      * The buttons in the menu.
+     * <p>This array may be shared with the {@link MenuTemplate} the menu was created from,
+     * and is copied before it is modified.</p>
      */
-    protected final Button[] buttons;
+    protected Button[] buttons;
+    /**
+     * The pre-rendered items of the template the menu was created from, or null.
+     */
+    @Nullable
+    private ItemStack[] staticItems;
+    /**
+     * Whether the buttons are shared with the template the menu was created from.
+     */
+    private boolean sharedButtons;
+    /**
+     * The rendered contents of the menu, which are reused as long as the layout of
+     * the menu doesn't change and all of its icons are static, or null.
+     */
+    @Nullable
+    private ItemStack[] contents;
     /**
      * The title of the menu.
      */
     protected String title = "";
+    /**
+     * The id of the menu, used to group the metrics of menus.
+     */
+    protected String id = getClass().getSimpleName();
     /**
      * The background of the menu.
      */
@@ -40,10 +61,20 @@ public class Menu {
      * The supplier for the inventory.
      */
     protected final InventorySupplier inventorySupplier;
+    /**
+     * The type of the inventory created by the supplier, or null if unknown.
+     */
+    @Nullable
+    protected final InventoryType inventoryType;
     /**
      * The click handler for the menu.
      */
     protected ClickHandler clickHandler = new StaticClickHandler();
+    /**
+     * The limiter for clicks on the buttons of the menu, or null if clicks are not limited.
+     */
+    @Nullable
+    protected ClickLimiter clickLimiter;
     /**
      * The action to perform when the menu is open.
      */
@@ -60,7 +91,7 @@ public class Menu {
      * @param type   the type of menu
      */
     public Menu(Player player, MenuType type) {
-        this(player, type.getSupplier(), type.getSize());
+        this(player, type.getSupplier(), InventoryType.CHEST, type.getSize());
     }
 
     /**
@@ -70,7 +101,7 @@ public class Menu {
      * @param inventoryType the type of inventory
      */
     public Menu(Player player, InventoryType inventoryType) {
-        this(player, title -> Bukkit.createInventory(null, inventoryType, title), inventoryType.getDefaultSize());
+        this(player, InventorySupplier.of(inventoryType), inventoryType, inventoryType.getDefaultSize());
     }
 
     /**
@@ -81,12 +112,48 @@ public class Menu {
      * @param size              the size of the menu
      */
     protected Menu(Player player, InventorySupplier inventorySupplier, int size) {
+        this(player, inventorySupplier, null, size);
+    }
+
+    /**
+     * Creates a new menu.
+     *
+     * @param player            the player viewing the menu
+     * @param inventorySupplier the supplier for the inventory
+     * @param inventoryType     the type of the inventory created by the supplier, or null if unknown
+     * @param size              the size of the menu
+     */
+    protected Menu(Player player, InventorySupplier inventorySupplier, @Nullable InventoryType inventoryType, int size) {
         this.player = player;
         this.inventorySupplier = inventorySupplier;
+        this.inventoryType = inventoryType;
         this.size = size;
         this.buttons = new Button[size];
     }
 
+    /**
+     * Creates a new menu from a template.
+     *
+     * @param player   the player viewing the menu
+     * @param template the template
+     */
+    Menu(Player player, MenuTemplate template) {
+        this.player = player;
+        this.inventorySupplier = template.inventorySupplier;
+        this.inventoryType = template.inventoryType;
+        this.size = template.size;
+        this.buttons = template.buttons;
+        this.staticItems = template.staticItems;
+        this.contents = template.contents;
+        this.sharedButtons = true;
+        this.title = template.title;
+        this.id = template.id;
+        this.clickHandler = template.clickHandler;
+        this.clickLimiter = template.clickLimiter;
+        this.onOpen = template.onOpen;
+        this.onClose = template.onClose;
+    }
+
     /**
      * Adds a button to the menu.
      *
@@ -98,10 +165,30 @@ public class Menu {
         if (slot >= size) {
             throw new IllegalArgumentException("Slot " + slot + " out of bounds for menu with size " + size);
         }
-        buttons[slot] = button;
+        writableButtons()[slot] = button;
+        if (staticItems != null) {
+            staticItems[slot] = null;
+        }
+        contents = null;
         return this;
     }
 
+    /**
+     * Gets the buttons of the menu, copying them first if they are shared with a template.
+     *
+     * @return the buttons
+     */
+    private Button[] writableButtons() {
+        if (sharedButtons) {
+            buttons = buttons.clone();
+            if (staticItems != null) {
+                staticItems = staticItems.clone();
+            }
+            sharedButtons = false;
+        }
+        return buttons;
+    }
+
     /**
      * Sets the title of the menu.
      *
@@ -113,14 +200,30 @@ public class Menu {
         return this;
     }
 
+    /**
+     * Sets the id of the menu, which is used to group the metrics of menus with the same id.
+     * See {@link MenuManager#getStats()}.
+     * <p>By default, the simple name of the class of the menu is used.</p>
+     *
+     * @param id the id
+     * @return this menu
+     */
+    public Menu setId(String id) {
+        this.id = id;
+        return this;
+    }
+
     /**
      * Sets the background of the menu.
+     * <p>Use the factories of {@link MenuBackground}, i.e. {@link MenuBackground#border(Button)},
+     * for backgrounds that are evaluated once and shared by all menus.</p>
      *
      * @param background the background
      * @return this menu
      */
     public Menu setBackground(MenuBackground background) {
         this.background = background;
+        contents = null;
         return this;
     }
 
@@ -135,6 +238,19 @@ public class Menu {
         return this;
     }
 
+    /**
+     * Sets the limiter for clicks on the buttons of the menu, which rejects clicks that exceed
+     * its limit before the click action of the button runs. See {@link ClickLimiter}.
+     * <p>Buttons with their own limiter are limited by both limiters.</p>
+     *
+     * @param clickLimiter the limiter, or null to not limit clicks
+     * @return this menu
+     */
+    public Menu setClickLimiter(@Nullable ClickLimiter clickLimiter) {
+        this.clickLimiter = clickLimiter;
+        return this;
+    }
+
     /**
      * Sets the action to perform when the menu is opened.
      *
@@ -157,13 +273,57 @@ public class Menu {
         return this;
     }
 
-    private void placeButtons(Inventory inventory) {
-        for (int i = 0; i < buttons.length; i++) {
+    /**
+     * Renders the buttons of the menu into an array of item stacks.
+     * <p>The array is reused as long as the layout of the menu doesn't change and all of its icons
+     * are static, so it must not be modified.</p>
+     *
+     * @param view the view the contents are rendered for
+     * @return the rendered contents
+     */
+    ItemStack[] renderContents(MenuView view) {
+        if (contents != null && isRendered(contents)) return contents;
+        ItemStack[] items = new ItemStack[size];
+        boolean reusable = true;
+        for (int i = 0; i < size; i++) {
+            if (staticItems != null && staticItems[i] != null) {
+                items[i] = staticItems[i];
+                continue;
+            }
             Button button = getButton(i);
             if (button == null) continue;
-            buttons[i] = button; // Update in case of a background button
-            inventory.setItem(i, button.icon.get());
+            if (buttons[i] == null && !(background instanceof LayoutBackground)) {
+                writableButtons()[i] = button; // Update in case of a background button
+            }
+            items[i] = button.icon.get(view.getPlayer());
+            if (!(button.icon instanceof StaticIcon)) {
+                view.trackIcon(i, button.icon);
+                reusable = false;
+            }
+        }
+        if (reusable) {
+            contents = items;
+        }
+        return items;
+    }
+
+    /**
+     * Checks whether the given contents still contain the items of the icons of the buttons,
+     * since modifying the button of a copy-on-write icon replaces its icon.
+     *
+     * @param contents the rendered contents
+     * @return true if the contents are up to date
+     */
+    private boolean isRendered(ItemStack[] contents) {
+        for (int i = 0; i < size; i++) {
+            if (staticItems != null && staticItems[i] != null) continue;
+            Button button = buttons[i];
+            if (button == null && background instanceof LayoutBackground) {
+                button = background.getButton(i, size);
+            }
+            if (button != null && button.icon.get() != contents[i]) return false;
         }
+        return true;
     }
 
     /**
@@ -178,22 +338,107 @@ public class Menu {
         if (button != null) {
             return button;
         }
-        return background.getButton(slot);
+        return background.getButton(slot, size);
     }
 
     /**
      * Opens the menu.
+     * <p>If the current thread doesn't own the player, the menu is rendered and the inventory
+     * is opened on the thread owning the player. See {@link MenuScheduler}. The returned view
+     * is empty until then.</p>
      *
      * @param menuManager the menu manager
      * @return the view of the menu
      */
     public MenuView open(MenuManager menuManager) {
-        Inventory inventory = inventorySupplier.create(title);
-        placeButtons(inventory);
-        player.openInventory(inventory);
-        MenuView view = new MenuView(this, inventory, menuManager);
-        onOpen.accept(view);
-        return menuManager.registerActiveView(view);
+        long start = menuManager.getStats().isEnabled() ? System.nanoTime() : 0;
+        MenuView view = createView(menuManager);
+        Inventory inventory = view.getInventory();
+        // Render and open the inventory on the thread owning the player, so that icons aren't rendered
+        // off-thread, and opening and closing the menus of a player happens in order
+        menuManager.getScheduler().execute(player, () -> {
+            MenuOpenEvent event = new MenuOpenEvent();
+            event.begin();
+            render(view);
+            player.openInventory(inventory);
+            onOpen.accept(view);
+            menuManager.registerActiveView(view);
+            MenuMetrics metrics = view.getMetrics();
+            if (start != 0 && metrics != null) {
+                metrics.opens.increment();
+                metrics.openLatency.record(System.nanoTime() - start);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.menuId = id;
+                event.menuClass = getClass();
+                event.size = inventory.getSize();
+                event.commit();
+            }
+        });
+        return view;
+    }
+
+    /**
+     * Creates the inventory of the menu and a view for it, without rendering the menu.
+     * See {@link #render(MenuView)}.
+     *
+     * @param menuManager the menu manager
+     * @return the view
+     */
+    MenuView createView(MenuManager menuManager) {
+        MenuHolder holder = new MenuHolder();
+        Inventory inventory = inventorySupplier.create(holder, title);
+        MenuView view = newView(inventory, menuManager);
+        holder.setView(view);
+        return view;
+    }
+
+    /**
+     * Prepares the menu and renders it into the inventory of the given view.
+     * <p>This must be called on the thread owning the view.</p>
+     *
+     * @param view the view created by {@link #createView(MenuManager)}
+     */
+    void render(MenuView view) {
+        prepare(view.getMenuManager());
+        view.writeContents(renderContents(view));
+    }
+
+    /**
+     * Creates a view of this menu for the given inventory.
+     *
+     * @param inventory   the inventory
+     * @param menuManager the menu manager
+     * @return the view
+     */
+    MenuView newView(Inventory inventory, MenuManager menuManager) {
+        return new MenuView(this, inventory, menuManager);
+    }
+
+    /**
+     * Prepares the menu before it is rendered for a view, either because it is opened,
+     * or because it is shown in the inventory of another view. See {@link MenuView#open(Menu)}.
+     *
+     * @param menuManager the menu manager of the view
+     */
+    protected void prepare(MenuManager menuManager) {
+    }
+
+    /**
+     * Checks whether the given menu can be shown in the inventory of a view of this menu,
+     * without opening a new inventory.
+     * <p>This is the case if both menus are viewed by the same player, and have the same
+     * size, inventory type and title. Shared menus are never compatible, since their
+     * inventory is viewed by multiple players.</p>
+     *
+     * @param other the other menu
+     * @return true if the other menu can be shown in the inventory of this menu
+     */
+    boolean isCompatible(Menu other) {
+        if (player == null || !player.equals(other.player) || size != other.size || !title.equals(other.title)) return false;
+        if (inventorySupplier == other.inventorySupplier) return true;
+        return inventoryType != null && inventoryType == other.inventoryType;
     }
 
     /**
@@ -211,10 +456,19 @@ public class Menu {
         return open(menuManager);
     }
 
+    /**
+     * Gets the id of the menu.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
     /**
      * Gets the player viewing the menu.
      *
-     * @return the player
+     * @return the player, or null if the menu is shared by multiple players. See {@link SharedMenu}.
      */
     public Player getPlayer() {
         return player;
@@ -2,8 +2,12 @@ package de.clickism.clickgui.menu;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+
 /**
  * Represents a background for a menu.
+ * <p>Backgrounds created using the factories of this interface are evaluated once into
+ * a fixed layout that is shared by all menus. See {@link LayoutBackground}.</p>
  */
 @FunctionalInterface
 public interface MenuBackground {
@@ -15,4 +19,86 @@ public interface MenuBackground {
      */
     @Nullable
     Button getButton(int slot);
+
+    /**
+     * Gets the background button at the specified slot of a menu with the given size.
+     * <p>By default, the size is ignored.</p>
+     *
+     * @param slot the slot
+     * @param size the size of the menu
+     * @return the button
+     */
+    @Nullable
+    default Button getButton(int slot, int size) {
+        return getButton(slot);
+    }
+
+    /**
+     * Creates a background that evaluates the given background once for each slot,
+     * and reuses the buttons until it is invalidated.
+     *
+     * @param background the background to evaluate
+     * @return the background
+     */
+    static LayoutBackground cached(MenuBackground background) {
+        return new LayoutBackground((row, column, rows) -> background.getButton(row * 9 + column));
+    }
+
+    /**
+     * Creates a background that shows the given button in all slots.
+     *
+     * @param button the button
+     * @return the background
+     */
+    static LayoutBackground fill(Button button) {
+        return new LayoutBackground((row, column, rows) -> button);
+    }
+
+    /**
+     * Creates a background that shows the given button in the outer rows and columns of the menu.
+     *
+     * @param button the button
+     * @return the background
+     */
+    static LayoutBackground border(Button button) {
+        return new LayoutBackground((row, column, rows) ->
+                (row == 0 || row == rows - 1 || column == 0 || column == 8) ? button : null);
+    }
+
+    /**
+     * Creates a background that alternates between the given buttons like a checkerboard,
+     * starting with the first button in the first slot.
+     *
+     * @param first  the first button
+     * @param second the second button
+     * @return the background
+     */
+    static LayoutBackground checkerboard(Button first, Button second) {
+        return new LayoutBackground((row, column, rows) -> ((row + column) % 2 == 0) ? first : second);
+    }
+
+    /**
+     * Creates a background from a pattern of rows, where each character of a row is the key
+     * of the button in the corresponding slot.
+     * <p>For example, {@code pattern(Map.of('#', pane), "#########", "#       #", "#########")}
+     * shows a border in a menu with 3 rows. Characters without a button, and slots outside
+     * of the pattern, are left empty.</p>
+     *
+     * @param buttons the buttons by their keys
+     * @param rows    the rows of the pattern, with up to 9 characters each
+     * @return the background
+     */
+    static LayoutBackground pattern(Map<Character, Button> buttons, String... rows) {
+        for (String row : rows) {
+            if (row.length() > 9) {
+                throw new IllegalArgumentException("Row \"" + row + "\" is longer than 9 characters");
+            }
+        }
+        String[] pattern = rows.clone();
+        Map<Character, Button> keys = Map.copyOf(buttons);
+        return new LayoutBackground((row, column, menuRows) -> {
+            if (row >= pattern.length || column >= pattern[row].length()) return null;
+            return keys.get(pattern[row].charAt(column));
+        });
+    }
 }
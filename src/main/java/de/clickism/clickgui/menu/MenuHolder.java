@@ -0,0 +1,42 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * The holder of inventories created for menus, pointing to the view of the menu.
+ * <p>This can be used to check whether an inventory belongs to a menu, i.e.
+ * {@code inventory.getHolder() instanceof MenuHolder}.</p>
+ */
+public final class MenuHolder implements InventoryHolder {
+    private MenuView view;
+
+    /**
+     * Creates a new menu holder, the view is set once it was created.
+     */
+    MenuHolder() {
+    }
+
+    /**
+     * Sets the view of the menu.
+     *
+     * @param view the view
+     */
+    void setView(MenuView view) {
+        this.view = view;
+    }
+
+    /**
+     * Gets the view of the menu.
+     *
+     * @return the view
+     */
+    public MenuView getView() {
+        return view;
+    }
+
+    @Override
+    public Inventory getInventory() {
+        return view.getInventory();
+    }
+}
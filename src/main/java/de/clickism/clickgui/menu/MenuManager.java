@@ -2,17 +2,25 @@ package de.clickism.clickgui.menu;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
 /**
@@ -26,15 +34,55 @@ public class MenuManager implements Listener {
     protected static MenuManager instance;
 
     private final JavaPlugin plugin;
-    private final Map<Inventory, MenuView> activeMenus = new HashMap<>();
+    private final MenuScheduler scheduler;
+    private final Map<Inventory, MenuView> activeMenus;
+    private final Map<UUID, MenuView> viewsByPlayer;
+
+    private volatile boolean coalesceRefreshes;
+    private final Set<MenuView> dirtyViews;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private final AnimationDriver animationDriver;
+    private Executor asyncExecutor = ForkJoinPool.commonPool();
+    private final MenuStats stats = new MenuStats();
+
+    private volatile long reaperPeriod = 20 * 30;
+    private volatile long idleTimeout;
+    @Nullable
+    private MenuScheduler.Task reaperTask;
 
     /**
      * Creates a new menu manager and registers it as a listener.
+     * <p>The menu manager runs everything on the main thread.</p>
      *
      * @param plugin the plugin to register the listener with
      */
     public MenuManager(JavaPlugin plugin) {
+        this(plugin, MenuScheduler.bukkit(plugin));
+    }
+
+    /**
+     * Creates a new menu manager that schedules its work using the given scheduler,
+     * and registers it as a listener.
+     * <p>If the scheduler is region-threaded, the views are kept in thread-safe registries,
+     * and opening, refreshing and closing views is routed to the threads owning their players.</p>
+     *
+     * @param plugin    the plugin to register the listener with
+     * @param scheduler the scheduler
+     */
+    public MenuManager(JavaPlugin plugin, MenuScheduler scheduler) {
         this.plugin = plugin;
+        this.scheduler = scheduler;
+        if (scheduler.isRegionThreaded()) {
+            this.activeMenus = new ConcurrentHashMap<>();
+            this.viewsByPlayer = new ConcurrentHashMap<>();
+            this.dirtyViews = ConcurrentHashMap.newKeySet();
+        } else {
+            this.activeMenus = new HashMap<>();
+            this.viewsByPlayer = new HashMap<>();
+            this.dirtyViews = new LinkedHashSet<>();
+        }
+        this.animationDriver = new AnimationDriver(scheduler);
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
@@ -56,18 +104,339 @@ public class MenuManager implements Listener {
      */
     public MenuView registerActiveView(MenuView view) {
         activeMenus.put(view.getInventory(), view);
+        for (Player viewer : view.getViewers()) {
+            viewsByPlayer.put(viewer.getUniqueId(), view);
+        }
+        MenuMetrics metrics = view.getMetrics();
+        if (metrics != null) {
+            view.activeMetrics = metrics;
+            stats.viewOpened(metrics);
+        }
+        startReaper();
         return view;
     }
 
+    /**
+     * Unregisters a menu view.
+     *
+     * @param view the view to unregister
+     */
+    void unregisterActiveView(MenuView view) {
+        activeMenus.remove(view.getInventory());
+        for (Player viewer : view.getViewers()) {
+            viewsByPlayer.remove(viewer.getUniqueId(), view);
+        }
+        dirtyViews.remove(view);
+        animationDriver.untrack(view);
+        if (view.activeMetrics != null) {
+            stats.viewClosed(view.activeMetrics);
+            view.activeMetrics = null;
+        }
+    }
+
+    /**
+     * Registers a player viewing an active shared view.
+     *
+     * @param view   the shared view
+     * @param viewer the player
+     */
+    void registerViewer(MenuView view, Player viewer) {
+        viewsByPlayer.put(viewer.getUniqueId(), view);
+        startReaper();
+    }
+
+    /**
+     * Unregisters a player that stopped viewing an active shared view.
+     *
+     * @param view   the shared view
+     * @param viewer the player
+     */
+    void unregisterViewer(MenuView view, HumanEntity viewer) {
+        viewsByPlayer.remove(viewer.getUniqueId(), view);
+    }
+
+    /**
+     * Releases the view the given player stopped viewing, running its close action.
+     * <p>Shared views only release the player, and are disposed depending on their
+     * policy once the last viewer left. See {@link SharedMenu#setLastViewerPolicy(SharedMenu.LastViewerPolicy)}.</p>
+     *
+     * @param view   the view
+     * @param player the player
+     */
+    private void closeView(MenuView view, HumanEntity player) {
+        if (view instanceof SharedMenuView sharedView) {
+            sharedView.removeViewer(player);
+            return;
+        }
+        unregisterActiveView(view);
+        view.onClose();
+    }
+
+    /**
+     * Releases a view that the given player didn't close normally, running its close action.
+     *
+     * @param view   the view
+     * @param player the player
+     */
+    private void reclaimView(MenuView view, HumanEntity player) {
+        closeView(view, player);
+        stats.viewReclaimed(view.getMetrics());
+    }
+
+    /**
+     * Sets how often active views are checked, releasing the views that are not viewed by their players anymore,
+     * i.e. because their close event never arrived, and closing idle views. See {@link #setIdleTimeout(Duration)}.
+     * <p>By default, views are checked every 30 seconds. The check only runs while views are active.</p>
+     *
+     * @param period the period in ticks, or 0 to disable the check
+     */
+    public synchronized void setReaperPeriod(long period) {
+        this.reaperPeriod = period;
+        stopReaper();
+        if (!viewsByPlayer.isEmpty()) {
+            startReaper();
+        }
+    }
+
+    /**
+     * Sets the time after which views the player didn't interact with are closed.
+     * <p>Idle views are closed by the periodic check of active views, so they may stay open
+     * for up to one period longer. See {@link #setReaperPeriod(long)}.</p>
+     * <p>By default, idle views are not closed.</p>
+     *
+     * @param idleTimeout the timeout, or null to keep idle views open
+     */
+    public void setIdleTimeout(@Nullable Duration idleTimeout) {
+        this.idleTimeout = (idleTimeout == null) ? 0 : idleTimeout.toNanos();
+    }
+
+    private synchronized void startReaper() {
+        if (reaperTask != null || reaperPeriod <= 0) return;
+        reaperTask = scheduler.runRepeating(this::reapViews, reaperPeriod);
+    }
+
+    private synchronized void stopReaper() {
+        MenuScheduler.Task task = reaperTask;
+        if (task == null) return;
+        task.cancel();
+        reaperTask = null;
+    }
+
+    /**
+     * Checks all active views, releasing the views that are not viewed by their players anymore,
+     * and closing the views that were idle for longer than the idle timeout.
+     * <p>This is called periodically, see {@link #setReaperPeriod(long)}.
+     * Views are checked on the threads owning their players.</p>
+     * <p>The viewers of shared views are checked individually, but shared views are not
+     * closed when idle, since they are not tied to the activity of a single player.</p>
+     */
+    public void reapViews() {
+        long now = System.nanoTime();
+        for (MenuView view : new HashSet<>(viewsByPlayer.values())) {
+            for (Player player : view.getViewers()) {
+                scheduler.execute(player, () -> reapView(view, player, now));
+            }
+        }
+        synchronized (this) {
+            if (viewsByPlayer.isEmpty()) {
+                stopReaper();
+            }
+        }
+    }
+
+    private void reapView(MenuView view, Player player, long now) {
+        if (viewsByPlayer.get(player.getUniqueId()) != view) return;
+        if (!player.isOnline() || !view.getInventory().getViewers().contains(player)) {
+            reclaimView(view, player);
+            return;
+        }
+        long timeout = idleTimeout;
+        if (timeout <= 0 || view instanceof SharedMenuView || now - view.getLastActivity() < timeout) return;
+        player.closeInventory();
+        // The view is released by the close event, unless it never arrives
+        if (viewsByPlayer.get(player.getUniqueId()) == view) {
+            reclaimView(view, player);
+        } else {
+            stats.viewReclaimed(view.getMetrics());
+        }
+    }
+
+    /**
+     * Gets the active view the given player is viewing.
+     *
+     * @param player the player
+     * @return the view, or null if the player isn't viewing a menu of this menu manager
+     */
+    @Nullable
+    public MenuView getOpenView(HumanEntity player) {
+        return getOpenView(player.getUniqueId());
+    }
+
+    /**
+     * Gets the active view the player with the given UUID is viewing.
+     *
+     * @param uuid the UUID of the player
+     * @return the view, or null if the player isn't viewing a menu of this menu manager
+     */
+    @Nullable
+    public MenuView getOpenView(UUID uuid) {
+        return viewsByPlayer.get(uuid);
+    }
+
+    /**
+     * Gets the active view of the given inventory.
+     *
+     * @param inventory the inventory
+     * @return the view, or null if the inventory doesn't belong to an active menu of this menu manager
+     */
+    @Nullable
+    public MenuView getActiveView(Inventory inventory) {
+        if (inventory.getHolder() instanceof MenuHolder holder) {
+            MenuView view = holder.getView();
+            return (view != null && view.getMenuManager() == this && !view.isClosed()) ? view : null;
+        }
+        // Inventories created by custom inventory suppliers may not have a menu holder
+        return activeMenus.get(inventory);
+    }
+
+    /**
+     * Sets whether refreshes should be coalesced.
+     * <p>If enabled, {@link MenuView#refresh(int)} and {@link MenuView#refresh()} only mark the slots
+     * as dirty, and all dirty slots of all views are refreshed once at the start of the next tick.
+     * This way, a slot that is refreshed multiple times in a tick is only rendered once.</p>
+     * <p>Use {@link MenuView#flush()} or {@link #flushDirtyViews()} to apply pending refreshes immediately.</p>
+     *
+     * @param coalesceRefreshes whether refreshes should be coalesced
+     */
+    public void setCoalesceRefreshes(boolean coalesceRefreshes) {
+        this.coalesceRefreshes = coalesceRefreshes;
+        if (!coalesceRefreshes) {
+            flushDirtyViews();
+        }
+    }
+
+    /**
+     * Checks whether refreshes are coalesced.
+     * See {@link #setCoalesceRefreshes(boolean)}.
+     *
+     * @return true if refreshes are coalesced
+     */
+    public boolean isCoalescingRefreshes() {
+        return coalesceRefreshes;
+    }
+
+    /**
+     * Marks the view as having dirty slots, scheduling a flush for the next tick if needed.
+     *
+     * @param view the view
+     */
+    void markDirty(MenuView view) {
+        if (!dirtyViews.add(view) || !flushScheduled.compareAndSet(false, true)) return;
+        scheduler.runNextTick(() -> {
+            flushScheduled.set(false);
+            flushDirtyViews();
+        });
+    }
+
+    /**
+     * Sets the executor used to load async icons that don't have their own executor.
+     * <p>By default, the common fork join pool is used.</p>
+     *
+     * @param asyncExecutor the executor
+     */
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Gets the executor used to load async icons that don't have their own executor.
+     *
+     * @return the executor
+     */
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    /**
+     * Sets whether metrics of menus are recorded. See {@link #getStats()}.
+     * <p>Recording is disabled by default.</p>
+     *
+     * @param enabled whether metrics are recorded
+     */
+    public void setStatsEnabled(boolean enabled) {
+        stats.setEnabled(enabled);
+    }
+
+    /**
+     * Gets the metrics recorded for the menus of this menu manager, grouped by menu id.
+     * <p>Metrics are only recorded if enabled using {@link #setStatsEnabled(boolean)}.</p>
+     *
+     * @return the stats
+     */
+    public MenuStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets the scheduler of this menu manager.
+     *
+     * @return the scheduler
+     */
+    public MenuScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Gets the plugin of this menu manager.
+     *
+     * @return the plugin
+     */
+    public JavaPlugin getPlugin() {
+        return plugin;
+    }
+
+    /**
+     * Gets the driver that advances the animated icons of the views of this menu manager.
+     *
+     * @return the animation driver
+     */
+    AnimationDriver getAnimationDriver() {
+        return animationDriver;
+    }
+
+    /**
+     * Refreshes the dirty slots of all views immediately.
+     * <p>Views are flushed on the threads owning their players.</p>
+     */
+    public void flushDirtyViews() {
+        if (dirtyViews.isEmpty()) return;
+        List<MenuView> views = new ArrayList<>();
+        Iterator<MenuView> iterator = dirtyViews.iterator();
+        while (iterator.hasNext()) {
+            views.add(iterator.next());
+            iterator.remove();
+        }
+        views.forEach(MenuView::flush);
+    }
+
     /**
      * Closes all active menus.
      */
     public void closeActiveMenus() {
+        stopReaper();
+        dirtyViews.clear();
+        animationDriver.clear();
+        viewsByPlayer.clear();
         Iterator<Map.Entry<Inventory, MenuView>> iterator = activeMenus.entrySet().iterator();
         while (iterator.hasNext()) {
-            List<HumanEntity> viewers = iterator.next().getKey().getViewers();
+            Map.Entry<Inventory, MenuView> entry = iterator.next();
+            List<HumanEntity> viewers = entry.getKey().getViewers();
             iterator.remove();
-            new ArrayList<>(viewers).forEach(HumanEntity::closeInventory);
+            // Shared views may outlive their viewers, so they are disposed explicitly
+            if (entry.getValue() instanceof SharedMenuView sharedView) {
+                sharedView.onClose();
+            }
+            new ArrayList<>(viewers).forEach(viewer -> scheduler.execute(viewer, viewer::closeInventory));
         }
     }
 
@@ -82,6 +451,26 @@ public class MenuManager implements Listener {
         closeActiveMenus();
     }
 
+    /**
+     * Releases the view of a player that left the server, including players that were kicked,
+     * if the view wasn't released by the close event the server calls when a player leaves.
+     *
+     * @param event the event
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        UUID uuid = player.getUniqueId();
+        MenuView view = viewsByPlayer.get(uuid);
+        if (view == null) return;
+        // The server closes the inventory after the quit event, so the view is only
+        // reclaimed if it is still registered on the next tick
+        scheduler.runNextTick(() -> {
+            if (viewsByPlayer.get(uuid) != view) return;
+            reclaimView(view, player);
+        });
+    }
+
     /**
      * Passes the click event to the active menu.
      *
@@ -89,13 +478,26 @@ public class MenuManager implements Listener {
      */
     @EventHandler
     public void onClick(InventoryClickEvent event) {
-        runOnActiveView(event.getInventory(), view -> {
+        runOnActiveView(event.getWhoClicked(), event.getInventory(), view -> {
             int slot = event.getRawSlot();
             if (slot < 0 || slot >= view.getInventory().getSize()) return;
             view.onClick(event);
         });
     }
 
+    /**
+     * Passes the click event to the active menu after all listeners handled it,
+     * if it wasn't cancelled.
+     * <p>Unlike {@link #onClick(InventoryClickEvent)}, this includes clicks in the inventory of the player,
+     * since they can move items into the menu.</p>
+     *
+     * @param event the event
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onClickCompleted(InventoryClickEvent event) {
+        runOnActiveView(event.getWhoClicked(), event.getInventory(), view -> view.onClickCompleted(event));
+    }
+
     /**
      * Passes the drag event to the active menu.
      *
@@ -103,7 +505,7 @@ public class MenuManager implements Listener {
      */
     @EventHandler
     public void onDrag(InventoryDragEvent event) {
-        runOnActiveView(event.getInventory(), view -> view.onDrag(event));
+        runOnActiveView(event.getWhoClicked(), event.getInventory(), view -> view.onDrag(event));
     }
 
     /**
@@ -113,16 +515,15 @@ public class MenuManager implements Listener {
      */
     @EventHandler
     public void onClose(InventoryCloseEvent event) {
-        Inventory inventory = event.getInventory();
-        runOnActiveView(inventory, view -> {
-            activeMenus.remove(inventory);
-            view.onClose();
-        });
+        runOnActiveView(event.getPlayer(), event.getInventory(), view -> closeView(view, event.getPlayer()));
     }
 
-    private void runOnActiveView(Inventory inventory, Consumer<MenuView> consumer) {
-        MenuView view = activeMenus.get(inventory);
-        if (view == null) return;
+    private void runOnActiveView(HumanEntity player, Inventory inventory, Consumer<MenuView> consumer) {
+        // Most inventory events are not related to menus, so they are rejected by the per-player
+        // lookup without touching the inventory. Inventory#getHolder is avoided here, since it
+        // creates a block state snapshot for block inventories on Spigot.
+        MenuView view = viewsByPlayer.get(player.getUniqueId());
+        if (view == null || !view.getInventory().equals(inventory)) return;
         consumer.accept(view);
     }
 
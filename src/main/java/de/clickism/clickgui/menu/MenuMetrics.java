@@ -0,0 +1,177 @@
+package de.clickism.clickgui.menu;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded for all menus with the same id. See {@link Menu#setId(String)}.
+ */
+public final class MenuMetrics {
+    private final String id;
+
+    final LongAdder opens = new LongAdder();
+    final LatencyHistogram openLatency = new LatencyHistogram();
+    final LongAdder clicks = new LongAdder();
+    final LatencyHistogram clickLatency = new LatencyHistogram();
+    final LongAdder rejectedClicks = new LongAdder();
+    final LongAdder refreshes = new LongAdder();
+    final LongAdder slotWrites = new LongAdder();
+    final LongAdder skippedWrites = new LongAdder();
+    final LongAdder reclaimedViews = new LongAdder();
+    private final AtomicInteger activeViews = new AtomicInteger();
+    private final AtomicInteger peakViews = new AtomicInteger();
+
+    /**
+     * Creates new metrics.
+     *
+     * @param id the id of the menus
+     */
+    MenuMetrics(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Records that a view of a menu with this id was opened.
+     */
+    void viewOpened() {
+        int active = activeViews.incrementAndGet();
+        peakViews.accumulateAndGet(active, Math::max);
+    }
+
+    /**
+     * Records that a view of a menu with this id was closed.
+     */
+    void viewClosed() {
+        activeViews.decrementAndGet();
+    }
+
+    /**
+     * Clears all recorded metrics, except the number of active views.
+     */
+    void reset() {
+        opens.reset();
+        openLatency.reset();
+        clicks.reset();
+        clickLatency.reset();
+        rejectedClicks.reset();
+        refreshes.reset();
+        slotWrites.reset();
+        skippedWrites.reset();
+        reclaimedViews.reset();
+        peakViews.set(activeViews.get());
+    }
+
+    /**
+     * Gets the id of the menus.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the number of times a menu with this id was opened.
+     *
+     * @return the number of opens
+     */
+    public long getOpens() {
+        return opens.sum();
+    }
+
+    /**
+     * Gets the latency of opening menus with this id, from creating the inventory
+     * until the open action was run.
+     *
+     * @return the open latency histogram
+     */
+    public LatencyHistogram getOpenLatency() {
+        return openLatency;
+    }
+
+    /**
+     * Gets the number of clicks on menus with this id.
+     *
+     * @return the number of clicks
+     */
+    public long getClicks() {
+        return clicks.sum();
+    }
+
+    /**
+     * Gets the time spent handling clicks on menus with this id, including the click handler
+     * and the click actions of buttons.
+     *
+     * @return the click latency histogram
+     */
+    public LatencyHistogram getClickLatency() {
+        return clickLatency;
+    }
+
+    /**
+     * Gets the number of clicks on menus with this id that were rejected by a click limiter,
+     * or dropped because an async click action was in flight. See {@link ClickLimiter}
+     * and {@link InFlightPolicy}.
+     *
+     * @return the number of rejected clicks
+     */
+    public long getRejectedClicks() {
+        return rejectedClicks.sum();
+    }
+
+    /**
+     * Gets the number of refreshes of views of menus with this id, including flushes of dirty slots.
+     *
+     * @return the number of refreshes
+     */
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    /**
+     * Gets the number of slots written to in views of menus with this id.
+     *
+     * @return the number of slot writes
+     */
+    public long getSlotWrites() {
+        return slotWrites.sum();
+    }
+
+    /**
+     * Gets the number of slot writes that were skipped in views of menus with this id,
+     * because the slots already contained the rendered items.
+     *
+     * @return the number of skipped writes
+     */
+    public long getSkippedWrites() {
+        return skippedWrites.sum();
+    }
+
+    /**
+     * Gets the number of views of menus with this id that were released by the menu manager without
+     * being closed normally. See {@link MenuStats#getReclaimedViews()}.
+     *
+     * @return the number of reclaimed views
+     */
+    public long getReclaimedViews() {
+        return reclaimedViews.sum();
+    }
+
+    /**
+     * Gets the number of active views of menus with this id.
+     *
+     * @return the number of active views
+     */
+    public int getActiveViews() {
+        return activeViews.get();
+    }
+
+    /**
+     * Gets the highest number of simultaneously active views of menus with this id.
+     *
+     * @return the peak number of active views
+     */
+    public int getPeakViews() {
+        return peakViews.get();
+    }
+}
@@ -0,0 +1,24 @@
+package de.clickism.clickgui.menu;
+
+import jdk.jfr.*;
+
+/**
+ * A Flight Recorder event recorded when a menu is opened.
+ * <p>Disabled by default, and only recorded if opening takes longer than the threshold.</p>
+ */
+@Name("de.clickism.clickgui.MenuOpen")
+@Label("Menu Open")
+@Category("ClickGUI")
+@Description("Opening a menu, from rendering it until its open action was run")
+@Enabled(false)
+@Threshold("1 ms")
+final class MenuOpenEvent extends Event {
+    @Label("Menu Id")
+    String menuId;
+
+    @Label("Menu Class")
+    Class<?> menuClass;
+
+    @Label("Size")
+    int size;
+}
@@ -0,0 +1,27 @@
+package de.clickism.clickgui.menu;
+
+import jdk.jfr.*;
+
+/**
+ * A Flight Recorder event recorded when a menu view is refreshed, or its dirty slots are flushed.
+ * <p>Disabled by default, and only recorded if the refresh takes longer than the threshold.</p>
+ */
+@Name("de.clickism.clickgui.MenuRefresh")
+@Label("Menu Refresh")
+@Category("ClickGUI")
+@Description("Refreshing the slots of a menu view")
+@Enabled(false)
+@Threshold("1 ms")
+final class MenuRefreshEvent extends Event {
+    @Label("Menu Id")
+    String menuId;
+
+    @Label("Menu Class")
+    Class<?> menuClass;
+
+    @Label("Refreshed Slots")
+    int slots;
+
+    @Label("Slot Writes")
+    int writes;
+}
@@ -0,0 +1,79 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Schedules the work of a {@link MenuManager} and its views.
+ * <p>The default implementation, {@link #bukkit(JavaPlugin)}, runs everything on the main thread.
+ * Servers that tick players on different threads (i.e. region-threaded servers) can provide
+ * an implementation that runs tasks on the thread owning the player, using the scheduler
+ * of the player entity. Tasks executed for the same player must run in the order they were executed.</p>
+ */
+public interface MenuScheduler {
+    /**
+     * Checks whether the current thread owns the given player, meaning that
+     * the player and the menus viewed by the player can be accessed directly.
+     *
+     * @param player the player
+     * @return true if the current thread owns the player
+     */
+    boolean isOwnedByCurrentThread(HumanEntity player);
+
+    /**
+     * Executes the task on the thread owning the given player.
+     * <p>If the current thread owns the player, the task is run immediately.</p>
+     *
+     * @param player the player
+     * @param task   the task
+     */
+    void execute(HumanEntity player, Runnable task);
+
+    /**
+     * Runs the task on the next tick, on a thread that is not bound to a player.
+     *
+     * @param task the task
+     */
+    void runNextTick(Runnable task);
+
+    /**
+     * Runs the task repeatedly every given number of ticks, starting on the next tick,
+     * on a thread that is not bound to a player.
+     *
+     * @param task   the task
+     * @param period the period in ticks
+     * @return the scheduled task
+     */
+    Task runRepeating(Runnable task, long period);
+
+    /**
+     * Checks whether this scheduler runs tasks of different players on different threads.
+     * <p>If true, the menu manager uses thread-safe registries for its views.</p>
+     *
+     * @return true if this scheduler is region-threaded
+     */
+    default boolean isRegionThreaded() {
+        return false;
+    }
+
+    /**
+     * Creates a scheduler that runs everything on the main thread using the Bukkit scheduler.
+     *
+     * @param plugin the plugin to schedule tasks with
+     * @return the scheduler
+     */
+    static MenuScheduler bukkit(JavaPlugin plugin) {
+        return new BukkitMenuScheduler(plugin);
+    }
+
+    /**
+     * Represents a scheduled task.
+     */
+    @FunctionalInterface
+    interface Task {
+        /**
+         * Cancels the task.
+         */
+        void cancel();
+    }
+}
@@ -0,0 +1,136 @@
+package de.clickism.clickgui.menu;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded by a {@link MenuManager}, grouped by menu id.
+ * <p>Recording is disabled by default, in which case it only costs a single check.
+ * See {@link MenuManager#setStatsEnabled(boolean)}.</p>
+ */
+public final class MenuStats {
+    private volatile boolean enabled;
+    private final Map<String, MenuMetrics> metricsById = new ConcurrentHashMap<>();
+    private final AtomicInteger activeViews = new AtomicInteger();
+    private final AtomicInteger peakViews = new AtomicInteger();
+    private final LongAdder reclaimedViews = new LongAdder();
+
+    /**
+     * Creates new menu stats.
+     */
+    MenuStats() {
+    }
+
+    /**
+     * Checks whether metrics are recorded.
+     *
+     * @return true if metrics are recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether metrics are recorded.
+     *
+     * @param enabled whether metrics are recorded
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets the metrics of the menus with the given id, creating them if needed.
+     *
+     * @param id the id of the menus
+     * @return the metrics
+     */
+    MenuMetrics getOrCreateMetrics(String id) {
+        return metricsById.computeIfAbsent(id, MenuMetrics::new);
+    }
+
+    /**
+     * Records that a view was opened.
+     *
+     * @param metrics the metrics of the menu of the view
+     */
+    void viewOpened(MenuMetrics metrics) {
+        metrics.viewOpened();
+        int active = activeViews.incrementAndGet();
+        peakViews.accumulateAndGet(active, Math::max);
+    }
+
+    /**
+     * Records that a view was closed.
+     *
+     * @param metrics the metrics of the menu of the view
+     */
+    void viewClosed(MenuMetrics metrics) {
+        metrics.viewClosed();
+        activeViews.decrementAndGet();
+    }
+
+    /**
+     * Records that a view was reclaimed. Reclaimed views are counted even if recording is disabled.
+     *
+     * @param metrics the metrics of the menu of the view, or null if metrics are not recorded
+     */
+    void viewReclaimed(@Nullable MenuMetrics metrics) {
+        reclaimedViews.increment();
+        if (metrics != null) {
+            metrics.reclaimedViews.increment();
+        }
+    }
+
+    /**
+     * Gets the metrics of all menu ids that were recorded.
+     *
+     * @return an unmodifiable view of the metrics by menu id
+     */
+    public Map<String, MenuMetrics> getMetrics() {
+        return Collections.unmodifiableMap(metricsById);
+    }
+
+    /**
+     * Gets the number of active views that were opened while recording was enabled.
+     *
+     * @return the number of active views
+     */
+    public int getActiveViews() {
+        return activeViews.get();
+    }
+
+    /**
+     * Gets the highest number of simultaneously active views.
+     *
+     * @return the peak number of active views
+     */
+    public int getPeakViews() {
+        return peakViews.get();
+    }
+
+    /**
+     * Gets the number of views that were released by the menu manager without being closed normally,
+     * because their player left, the player wasn't viewing them anymore, or they were idle for too long.
+     * <p>Unlike other metrics, reclaimed views are counted even if recording is disabled.</p>
+     *
+     * @return the number of reclaimed views
+     */
+    public long getReclaimedViews() {
+        return reclaimedViews.sum();
+    }
+
+    /**
+     * Clears all recorded metrics, except the number of active views.
+     */
+    public void reset() {
+        metricsById.values().forEach(MenuMetrics::reset);
+        reclaimedViews.reset();
+        peakViews.set(activeViews.get());
+    }
+}
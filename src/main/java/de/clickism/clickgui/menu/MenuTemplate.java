@@ -0,0 +1,260 @@
+package de.clickism.clickgui.menu;
+
+import de.clickism.clickgui.menu.handler.ClickHandler;
+import de.clickism.clickgui.menu.handler.StaticClickHandler;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Represents an immutable menu layout that is built once and shared across players.
+ * <p>The buttons of the template are shared by all menus created from it, and the items of
+ * buttons with static icons are rendered once when the template is built. Menus created from
+ * the template only copy its buttons if they are modified, i.e. using {@link Menu#addButton(int, Button)}.</p>
+ * <p>Since the buttons are shared, they should not be modified after the template was built.</p>
+ */
+public final class MenuTemplate {
+    final InventorySupplier inventorySupplier;
+    @Nullable
+    final InventoryType inventoryType;
+    final int size;
+    final String title;
+    final String id;
+    final Button[] buttons;
+    final ItemStack[] staticItems;
+    @Nullable
+    final ItemStack[] contents;
+    final ClickHandler clickHandler;
+    @Nullable
+    final ClickLimiter clickLimiter;
+    final Consumer<MenuView> onOpen;
+    final Consumer<MenuView> onClose;
+
+    private MenuTemplate(Builder builder) {
+        this.inventorySupplier = builder.inventorySupplier;
+        this.inventoryType = builder.inventoryType;
+        this.size = builder.size;
+        this.title = builder.title;
+        this.id = builder.id;
+        this.clickHandler = builder.clickHandler;
+        this.clickLimiter = builder.clickLimiter;
+        this.onOpen = builder.onOpen;
+        this.onClose = builder.onClose;
+        this.buttons = new Button[size];
+        this.staticItems = new ItemStack[size];
+        boolean allStatic = true;
+        for (int i = 0; i < size; i++) {
+            Button button = builder.buttons[i];
+            if (button == null) {
+                button = builder.background.getButton(i, size);
+            }
+            if (button == null) continue;
+            buttons[i] = button;
+            if (button.icon instanceof StaticIcon) {
+                staticItems[i] = button.icon.get();
+            } else {
+                allStatic = false;
+            }
+        }
+        // If all icons are static, the pre-rendered items can be written to the inventory as they are
+        this.contents = allStatic ? staticItems : null;
+    }
+
+    /**
+     * Creates a new menu from this template for the given player.
+     * <p>The menu shares the buttons of this template until it is modified.</p>
+     *
+     * @param player the player viewing the menu
+     * @return the menu
+     */
+    public Menu createMenu(Player player) {
+        return new Menu(player, this);
+    }
+
+    /**
+     * Opens a new menu created from this template for the given player.
+     *
+     * @param player      the player viewing the menu
+     * @param menuManager the menu manager
+     * @return the view of the menu
+     */
+    public MenuView open(Player player, MenuManager menuManager) {
+        return createMenu(player).open(menuManager);
+    }
+
+    /**
+     * Opens a new menu created from this template for the given player using the instance
+     * of the menu manager set by {@link MenuManager#setInstance(MenuManager)}.
+     *
+     * @param player the player viewing the menu
+     * @throws IllegalStateException if no instance was set
+     * @return the view of the menu
+     */
+    public MenuView open(Player player) {
+        return createMenu(player).open();
+    }
+
+    /**
+     * Gets the size of the menus created from this template.
+     *
+     * @return the size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Creates a new template builder.
+     *
+     * @param type the type of menu
+     * @return the builder
+     */
+    public static Builder builder(MenuType type) {
+        return new Builder(type.getSupplier(), InventoryType.CHEST, type.getSize());
+    }
+
+    /**
+     * Creates a new template builder.
+     *
+     * @param inventoryType the type of inventory
+     * @return the builder
+     */
+    public static Builder builder(InventoryType inventoryType) {
+        return new Builder(InventorySupplier.of(inventoryType), inventoryType, inventoryType.getDefaultSize());
+    }
+
+    /**
+     * Builds a {@link MenuTemplate}.
+     */
+    public static class Builder {
+        private final InventorySupplier inventorySupplier;
+        private final InventoryType inventoryType;
+        private final int size;
+        private final Button[] buttons;
+        private String title = "";
+        private String id = "MenuTemplate";
+        private MenuBackground background = (slot) -> null;
+        private ClickHandler clickHandler = new StaticClickHandler();
+        @Nullable
+        private ClickLimiter clickLimiter;
+        private Consumer<MenuView> onOpen = view -> {};
+        private Consumer<MenuView> onClose = view -> {};
+
+        private Builder(InventorySupplier inventorySupplier, InventoryType inventoryType, int size) {
+            this.inventorySupplier = inventorySupplier;
+            this.inventoryType = inventoryType;
+            this.size = size;
+            this.buttons = new Button[size];
+        }
+
+        /**
+         * Adds a button to the template.
+         *
+         * @param slot   the slot to add the button to
+         * @param button the button to add
+         * @return this builder
+         */
+        public Builder addButton(int slot, Button button) {
+            if (slot >= size) {
+                throw new IllegalArgumentException("Slot " + slot + " out of bounds for menu with size " + size);
+            }
+            buttons[slot] = button;
+            return this;
+        }
+
+        /**
+         * Sets the title of the template.
+         *
+         * @param title the title
+         * @return this builder
+         */
+        public Builder setTitle(@Colorized String title) {
+            this.title = Utils.colorize(title);
+            return this;
+        }
+
+        /**
+         * Sets the id of the menus created from the template, which is used to group their metrics.
+         * See {@link Menu#setId(String)}.
+         *
+         * @param id the id
+         * @return this builder
+         */
+        public Builder setId(String id) {
+            this.id = id;
+            return this;
+        }
+
+        /**
+         * Sets the background of the template.
+         * <p>The background is evaluated once when the template is built.</p>
+         *
+         * @param background the background
+         * @return this builder
+         */
+        public Builder setBackground(MenuBackground background) {
+            this.background = background;
+            return this;
+        }
+
+        /**
+         * Sets the click handler of the template.
+         * <p>The click handler is shared by all menus created from the template.</p>
+         *
+         * @param clickHandler the click handler
+         * @return this builder
+         */
+        public Builder setClickHandler(ClickHandler clickHandler) {
+            this.clickHandler = clickHandler;
+            return this;
+        }
+
+        /**
+         * Sets the limiter for clicks on the buttons of the menus created from the template.
+         * See {@link Menu#setClickLimiter(ClickLimiter)}.
+         * <p>The limiter is shared by all menus created from the template, so it limits
+         * the clicks of each player across all of them.</p>
+         *
+         * @param clickLimiter the limiter, or null to not limit clicks
+         * @return this builder
+         */
+        public Builder setClickLimiter(@Nullable ClickLimiter clickLimiter) {
+            this.clickLimiter = clickLimiter;
+            return this;
+        }
+
+        /**
+         * Sets the action to perform when a menu created from the template is opened.
+         *
+         * @param onOpen the action to perform
+         * @return this builder
+         */
+        public Builder setOnOpen(Consumer<MenuView> onOpen) {
+            this.onOpen = onOpen;
+            return this;
+        }
+
+        /**
+         * Sets the action to perform when a menu created from the template is closed.
+         *
+         * @param onClose the action to perform
+         * @return this builder
+         */
+        public Builder setOnClose(Consumer<MenuView> onClose) {
+            this.onClose = onClose;
+            return this;
+        }
+
+        /**
+         * Builds the template.
+         *
+         * @return the template
+         */
+        public MenuTemplate build() {
+            return new MenuTemplate(this);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package de.clickism.clickgui.menu;
 
-import org.bukkit.Bukkit;
-
 /**
  * Represents types/sizes of menus that can be created.
  */
@@ -51,6 +49,6 @@ public enum MenuType {
      * @return the supplier
      */
     public InventorySupplier getSupplier() {
-        return title -> Bukkit.createInventory(null, size, title);
+        return InventorySupplier.of(size);
     }
 }
@@ -4,15 +4,77 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
 
 /**
  * Represents a menu view.
  */
 public class MenuView {
-    private final Menu menu;
+    private Menu menu;
     private final Inventory inventory;
     private final MenuManager menuManager;
 
+    /**
+     * The items last written to each slot of the inventory.
+     */
+    private final ItemStack[] renderedItems;
+    /**
+     * The fingerprints of the items last written to each slot of the inventory,
+     * which are only computed if an item must be compared.
+     */
+    private final int[] renderedHashes;
+    /**
+     * The slots whose fingerprint was computed.
+     */
+    private final BitSet hashedSlots = new BitSet();
+    /**
+     * The versions of the icons last written to each slot of the inventory, or 0 if unknown.
+     */
+    private final long[] renderedVersions;
+    /**
+     * The slots whose contents are unknown and must be written to on the next refresh.
+     */
+    private final BitSet invalidSlots = new BitSet();
+    /**
+     * The slots that were marked to be refreshed on the next flush.
+     */
+    private final BitSet dirtySlots = new BitSet();
+    private final SlotIndex slotIndex;
+
+    /**
+     * The async icons shown in this view, which are notified when it is closed.
+     */
+    private final Set<AsyncIcon> asyncIcons = new HashSet<>();
+    /**
+     * The async click actions queued behind the action in flight, by their lock,
+     * which is either the button or this view.
+     */
+    private final Map<Object, Queue<Runnable>> inFlightClicks = new HashMap<>();
+    /**
+     * The icons shown instead of the buttons in the slots of this view, or null.
+     */
+    @Nullable
+    private Icon[] iconOverrides;
+
+    @Nullable
+    private MenuMetrics metrics;
+    /**
+     * The metrics this view is counted as active in, or null.
+     */
+    @Nullable
+    MenuMetrics activeMetrics;
+
+    private volatile boolean closed;
+    private volatile long lastActivity = System.nanoTime();
+    private int lastSkippedWrites;
+    private long skippedWrites;
+
     /**
      * Creates a new menu view.
      *
@@ -24,52 +86,429 @@ public class MenuView {
         this.menu = menu;
         this.inventory = inventory;
         this.menuManager = menuManager;
+        this.renderedItems = new ItemStack[inventory.getSize()];
+        this.renderedHashes = new int[inventory.getSize()];
+        this.renderedVersions = new long[inventory.getSize()];
+        this.slotIndex = new SlotIndex(inventory);
     }
 
     /**
      * Closes the menu.
+     * <p>This, and refreshing the view, may be called from any thread, since it is
+     * executed on the thread owning the player. See {@link MenuScheduler}.</p>
      */
     public void close() {
+        if (executeOnOwner(this::close)) return;
         menu.getPlayer().closeInventory();
     }
 
     /**
      * Opens the given menu.
+     * <p>If the menu has the same player, size, inventory type and title as the menu of this view,
+     * it is shown in the inventory of this view instead of opening a new inventory, which avoids
+     * the screen of the player flickering and the cursor being reset. Only the slots whose items
+     * differ are written to, and this view is reused for the given menu.</p>
+     * <p>If the menu is a {@link SharedMenu}, the player of this view is added to its viewers.</p>
      *
      * @param menu the menu to open
      */
     public void open(Menu menu) {
-        menu.open(menuManager);
+        if (executeOnOwner(() -> open(menu))) return;
+        if (menu instanceof SharedMenu sharedMenu) {
+            sharedMenu.open(getPlayer(), menuManager);
+        } else if (!switchTo(menu)) {
+            menu.open(menuManager);
+        }
     }
 
     /**
      * Opens the menu of the menu view again.
+     * <p>The menu is shown in the inventory of this view again, rendering all of its buttons,
+     * and running its close and open actions. See {@link #open(Menu)}.</p>
+     * <p>Views of shared menus are only refreshed, since their inventory is viewed by multiple players.</p>
      */
     public void reopen() {
-        menu.open(menuManager);
+        open(menu);
+    }
+
+    /**
+     * Shows the given menu in the inventory of this view, if possible.
+     *
+     * @param newMenu the menu
+     * @return true if the menu was shown in the inventory of this view, false if it must be opened
+     */
+    private boolean switchTo(Menu newMenu) {
+        Player player = getPlayer();
+        if (closed || !menu.isCompatible(newMenu) || !inventory.getViewers().contains(player)) return false;
+        long start = System.nanoTime();
+        // Release the old menu as if the view was closed, and register the view again for the new menu
+        menuManager.unregisterActiveView(this);
+        dirtySlots.clear();
+        asyncIcons.forEach(icon -> icon.untrack(this));
+        asyncIcons.clear();
+        inFlightClicks.clear();
+        iconOverrides = null;
+        menu.onClose.accept(this);
+        menu = newMenu;
+        metrics = null;
+        newMenu.prepare(menuManager);
+        ItemStack[] contents = newMenu.renderContents(this);
+        for (int slot = 0; slot < contents.length; slot++) {
+            writeItem(slot, contents[slot]);
+            renderedVersions[slot] = getRenderedVersion(slot, contents[slot]);
+        }
+        newMenu.onOpen.accept(this);
+        menuManager.registerActiveView(this);
+        MenuMetrics newMetrics = getMetrics();
+        if (newMetrics != null) {
+            newMetrics.opens.increment();
+            newMetrics.openLatency.record(System.nanoTime() - start);
+        }
+        return true;
     }
 
     /**
      * Refreshes the button at the given slot.
+     * <p>The slot is only written to if the rendered item differs from the item last written to it.</p>
+     * <p>If the menu manager coalesces refreshes, the slot is only marked as dirty and
+     * refreshed on the next flush. See {@link MenuManager#setCoalesceRefreshes(boolean)}.</p>
      *
      * @param slot the slot to refresh
      */
     public void refresh(int slot) {
-        Button button = menu.getButton(slot);
-        if (button == null) {
-            inventory.setItem(slot, null);
+        if (executeOnOwner(() -> refresh(slot))) return;
+        if (menuManager.isCoalescingRefreshes()) {
+            markDirty(slot);
             return;
         }
-        inventory.setItem(slot, button.icon.get());
+        MenuRefreshEvent event = new MenuRefreshEvent();
+        event.begin();
+        lastSkippedWrites = renderSlot(slot) ? 0 : 1;
+        recordRefresh(event, 1);
     }
 
     /**
      * Refreshes all buttons in the menu.
+     * <p>Only the slots whose rendered item differs from the item last written to them are written to.</p>
+     * <p>If the menu manager coalesces refreshes, all slots are only marked as dirty and
+     * refreshed on the next flush. See {@link MenuManager#setCoalesceRefreshes(boolean)}.</p>
      */
     public void refresh() {
+        if (executeOnOwner(this::refresh)) return;
+        if (menuManager.isCoalescingRefreshes()) {
+            markDirty();
+            return;
+        }
+        MenuRefreshEvent event = new MenuRefreshEvent();
+        event.begin();
+        int skipped = 0;
         for (int i = 0; i < menu.buttons.length; i++) {
-            refresh(i);
+            if (!renderSlot(i)) skipped++;
         }
+        lastSkippedWrites = skipped;
+        recordRefresh(event, menu.buttons.length);
+    }
+
+    /**
+     * Marks the given slot as dirty, so that it is refreshed on the next flush.
+     * <p>Marking a slot multiple times before the next flush only refreshes it once.
+     * Slots of closed views are not marked.</p>
+     *
+     * @param slot the slot
+     */
+    public void markDirty(int slot) {
+        if (closed) return;
+        if (executeOnOwner(() -> markDirty(slot))) return;
+        dirtySlots.set(slot);
+        menuManager.markDirty(this);
+    }
+
+    /**
+     * Marks all slots as dirty, so that they are refreshed on the next flush.
+     * <p>Slots of closed views are not marked.</p>
+     */
+    public void markDirty() {
+        if (closed) return;
+        if (executeOnOwner(this::markDirty)) return;
+        dirtySlots.set(0, menu.buttons.length);
+        menuManager.markDirty(this);
+    }
+
+    /**
+     * Refreshes all dirty slots immediately.
+     * <p>This is called by the menu manager once per tick for all views with dirty slots,
+     * but can also be called to apply the pending refreshes right away.</p>
+     */
+    public void flush() {
+        if (executeOnOwner(this::flush)) return;
+        if (dirtySlots.isEmpty()) return;
+        MenuRefreshEvent event = new MenuRefreshEvent();
+        event.begin();
+        int slots = dirtySlots.cardinality();
+        int skipped = 0;
+        for (int slot = dirtySlots.nextSetBit(0); slot >= 0; slot = dirtySlots.nextSetBit(slot + 1)) {
+            if (!renderSlot(slot)) skipped++;
+        }
+        dirtySlots.clear();
+        lastSkippedWrites = skipped;
+        recordRefresh(event, slots);
+    }
+
+    private void recordWrite(boolean written) {
+        if (!written) {
+            skippedWrites++;
+        }
+        MenuMetrics metrics = getMetrics();
+        if (metrics == null) return;
+        (written ? metrics.slotWrites : metrics.skippedWrites).increment();
+    }
+
+    private void recordRefresh(MenuRefreshEvent event, int slots) {
+        MenuMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.refreshes.increment();
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.menuId = menu.getId();
+            event.menuClass = menu.getClass();
+            event.slots = slots;
+            event.writes = slots - lastSkippedWrites;
+            event.commit();
+        }
+    }
+
+    /**
+     * Gets the metrics of the menu of this view, if the menu manager records metrics.
+     *
+     * @return the metrics, or null if metrics are not recorded
+     */
+    @Nullable
+    MenuMetrics getMetrics() {
+        MenuStats stats = menuManager.getStats();
+        if (!stats.isEnabled()) return null;
+        if (metrics == null) {
+            metrics = stats.getOrCreateMetrics(menu.getId());
+        }
+        return metrics;
+    }
+
+    /**
+     * Executes the task on the thread owning the player of this view using the scheduler
+     * of the menu manager, if the current thread doesn't own the player.
+     *
+     * @param task the task
+     * @return true if the task was executed on the owning thread, false if the
+     * current thread owns the player and the caller should continue
+     */
+    boolean executeOnOwner(Runnable task) {
+        MenuScheduler scheduler = menuManager.getScheduler();
+        Player player = getPlayer();
+        if (scheduler.isOwnedByCurrentThread(player)) return false;
+        scheduler.execute(player, task);
+        return true;
+    }
+
+    /**
+     * Executes the task on the thread owning the player of this view, running it
+     * immediately if the current thread owns the player.
+     * <p>This can be used to modify the menu from async click actions.
+     * See {@link Button#setOnClickAsync(ClickAction)}.</p>
+     *
+     * @param task the task
+     */
+    public void execute(Runnable task) {
+        if (!executeOnOwner(task)) {
+            task.run();
+        }
+    }
+
+    /**
+     * Renders the button at the given slot and writes it to the slot if it changed.
+     *
+     * @param slot the slot
+     * @return true if the slot was written to, false if the write was skipped
+     */
+    boolean renderSlot(int slot) {
+        Icon override = (iconOverrides == null) ? null : iconOverrides[slot];
+        if (override != null) {
+            renderedVersions[slot] = 0;
+            return writeItem(slot, override.get());
+        }
+        Button button = menu.getButton(slot);
+        if (button == null) {
+            return writeItem(slot, null);
+        }
+        ItemStack item = button.icon.get(getPlayer());
+        trackIcon(slot, button.icon);
+        long version = getVersion(button.icon);
+        if (version != 0 && renderedItems[slot] == item && !invalidSlots.get(slot)) {
+            // Versioned icons return the same item stack until they change, so it isn't compared
+            if (renderedVersions[slot] == version) {
+                recordWrite(false);
+                return false;
+            }
+            // The item stack was modified in place since it was written
+            invalidSlots.set(slot);
+        }
+        renderedVersions[slot] = version;
+        return writeItem(slot, item);
+    }
+
+    /**
+     * Gets the version of the given icon, which changes whenever its item stack is modified.
+     *
+     * @param icon the icon
+     * @return the version, or 0 if the icon has no version
+     */
+    private static long getVersion(Icon icon) {
+        if (icon instanceof StaticIcon staticIcon) return staticIcon.getVersion();
+        if (icon instanceof CachedIcon cachedIcon) return cachedIcon.getVersion();
+        if (icon instanceof AnimatedIcon animatedIcon) {
+            return getVersion(animatedIcon.getFrames().get(animatedIcon.getFrame()));
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the version of the icon of the button at the given slot, if it returned the given item.
+     *
+     * @param slot the slot
+     * @param item the item written to the slot
+     * @return the version, or 0 if unknown
+     */
+    private long getRenderedVersion(int slot, @Nullable ItemStack item) {
+        if (item == null) return 0;
+        Button button = menu.getButton(slot);
+        // Items of other icons fail the identity check of the next refresh, so their version doesn't matter
+        return (button == null) ? 0 : getVersion(button.icon);
+    }
+
+    /**
+     * Tracks the icon shown in the given slot, if it needs to be updated
+     * by the menu manager, i.e. if it is animated or loaded asynchronously.
+     *
+     * @param slot the slot
+     * @param icon the icon
+     */
+    void trackIcon(int slot, Icon icon) {
+        if (closed) return;
+        if (icon instanceof AnimatedIcon animatedIcon) {
+            menuManager.getAnimationDriver().track(this, slot, animatedIcon);
+        } else if (icon instanceof AsyncIcon asyncIcon) {
+            asyncIcon.track(this, slot);
+            asyncIcons.add(asyncIcon);
+        }
+    }
+
+    /**
+     * Writes the given contents to the inventory in a single bulk write.
+     *
+     * @param contents the contents, with the same size as the inventory
+     */
+    void writeContents(@Nullable ItemStack[] contents) {
+        inventory.setContents(contents);
+        MenuMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.slotWrites.add(contents.length);
+        }
+        for (int i = 0; i < contents.length; i++) {
+            renderedItems[i] = contents[i];
+            renderedVersions[i] = getRenderedVersion(i, contents[i]);
+        }
+        hashedSlots.clear();
+        invalidSlots.clear();
+        slotIndex.setAll(contents);
+    }
+
+    /**
+     * Writes the item to the given slot, unless it is similar to the item last written to it.
+     *
+     * @param slot the slot
+     * @param item the item, or null to clear the slot
+     * @return true if the slot was written to, false if the write was skipped
+     */
+    boolean writeItem(int slot, @Nullable ItemStack item) {
+        if (isRendered(slot, item)) {
+            recordWrite(false);
+            return false;
+        }
+        inventory.setItem(slot, item);
+        recordWrite(true);
+        renderedItems[slot] = item;
+        hashedSlots.clear(slot);
+        invalidSlots.clear(slot);
+        slotIndex.set(slot, item);
+        return true;
+    }
+
+    private boolean isRendered(int slot, @Nullable ItemStack item) {
+        if (invalidSlots.get(slot)) return false;
+        ItemStack rendered = renderedItems[slot];
+        // Icons usually return the same item stack, so items are only hashed if it is a different one.
+        // Item stacks modified in place without a versioned icon are not detected, see invalidate(int).
+        if (rendered == item) return true;
+        if (rendered == null || item == null) return false;
+        // Compare the fingerprints first, the deep comparison is only needed if they match.
+        if (!hashedSlots.get(slot)) {
+            renderedHashes[slot] = rendered.hashCode();
+            hashedSlots.set(slot);
+        }
+        if (renderedHashes[slot] != item.hashCode()) return false;
+        return rendered.getAmount() == item.getAmount() && rendered.isSimilar(item);
+    }
+
+    /**
+     * Forgets the item last written to the given slot, so that the next refresh writes to it
+     * regardless of its contents.
+     * <p>This should be called if the slot was modified outside of this view.</p>
+     *
+     * @param slot the slot
+     */
+    public void invalidate(int slot) {
+        renderedItems[slot] = null;
+        invalidSlots.set(slot);
+        slotIndex.invalidate(slot);
+    }
+
+    /**
+     * Forgets the items last written to all slots, so that the next refresh writes to all of them.
+     * <p>This should be called if the inventory was modified outside of this view.</p>
+     */
+    public void invalidate() {
+        Arrays.fill(renderedItems, null);
+        invalidSlots.set(0, renderedItems.length);
+        slotIndex.invalidate();
+    }
+
+    /**
+     * Gets the index of the items in the slots of this view, which can be used to
+     * check whether the menu contains an item without comparing every slot.
+     *
+     * @return the slot index
+     */
+    public SlotIndex getSlotIndex() {
+        return slotIndex;
+    }
+
+    /**
+     * Gets the number of slot writes skipped by the last refresh, because
+     * the slots already contained the rendered items.
+     *
+     * @return the number of skipped writes
+     */
+    public int getLastSkippedWrites() {
+        return lastSkippedWrites;
+    }
+
+    /**
+     * Gets the total number of slot writes skipped by this view, because
+     * the slots already contained the rendered items.
+     *
+     * @return the total number of skipped writes
+     */
+    public long getSkippedWrites() {
+        return skippedWrites;
     }
 
     /**
@@ -78,42 +517,226 @@ public class MenuView {
      * @param event the event to handle
      */
     protected void onClick(InventoryClickEvent event) {
+        lastActivity = System.nanoTime();
+        MenuMetrics metrics = getMetrics();
+        if (metrics == null) {
+            dispatchClick(event);
+            return;
+        }
+        long start = System.nanoTime();
+        dispatchClick(event);
+        metrics.clicks.increment();
+        metrics.clickLatency.record(System.nanoTime() - start);
+    }
+
+    private void dispatchClick(InventoryClickEvent event) {
         if (!menu.clickHandler.isValidClick(event)) {
             event.setCancelled(true);
             return;
         }
         if (menu.clickHandler.handleClick(event)) return;
-        Button button = menu.buttons[event.getRawSlot()];
+        int slot = event.getRawSlot();
+        Button button = menu.getButton(slot);
         if (button != null) {
+            if (isRejected(button, event)) {
+                event.setCancelled(true);
+                return;
+            }
             button.handleClick(event, this);
         }
     }
 
+    /**
+     * Handles a click event in the top or bottom inventory of the menu view that went through,
+     * after all listeners handled it.
+     * <p>Invalidates the slots of this view the click may have changed, since they no longer
+     * contain the items last written to them.</p>
+     *
+     * @param event the event to handle
+     */
+    protected void onClickCompleted(InventoryClickEvent event) {
+        int slot = event.getRawSlot();
+        switch (event.getAction()) {
+            case NOTHING:
+            case CLONE_STACK:
+            case DROP_ALL_CURSOR:
+            case DROP_ONE_CURSOR:
+                // Only the cursor changes
+                return;
+            case PICKUP_ALL:
+            case PICKUP_SOME:
+            case PICKUP_HALF:
+            case PICKUP_ONE:
+            case PLACE_ALL:
+            case PLACE_SOME:
+            case PLACE_ONE:
+            case SWAP_WITH_CURSOR:
+            case DROP_ALL_SLOT:
+            case DROP_ONE_SLOT:
+            case HOTBAR_SWAP:
+                // Only the clicked slot changes, besides the cursor and the hotbar
+                if (slot >= 0 && slot < renderedItems.length) {
+                    invalidate(slot);
+                }
+                return;
+            default:
+                // Other actions, i.e. shift clicks and double clicks, may change any slot of the menu
+                invalidate();
+        }
+    }
+
+    /**
+     * Runs the async click action of a button, or drops or queues it if
+     * an action with the same lock is in flight.
+     *
+     * @param button the button
+     * @param action the action
+     * @param player the player who clicked
+     * @param slot   the slot of the button
+     */
+    void runAsyncClick(Button button, ClickAction action, Player player, int slot) {
+        Object lock = button.lockViewWhileInFlight ? this : button;
+        Runnable click = () -> startAsyncClick(button, action, player, slot, lock);
+        Queue<Runnable> queued = inFlightClicks.get(lock);
+        if (queued == null) {
+            inFlightClicks.put(lock, new ArrayDeque<>());
+            click.run();
+        } else if (button.inFlightPolicy == InFlightPolicy.QUEUE) {
+            queued.add(click);
+        } else {
+            MenuMetrics metrics = getMetrics();
+            if (metrics != null) {
+                metrics.rejectedClicks.increment();
+            }
+        }
+    }
+
+    private void startAsyncClick(Button button, ClickAction action, Player player, int slot, Object lock) {
+        if (button.processingIcon != null) {
+            setIconOverride(slot, button.processingIcon);
+        }
+        Executor executor = (button.asyncExecutor == null) ? menuManager.getAsyncExecutor() : button.asyncExecutor;
+        CompletableFuture.runAsync(() -> action.onClick(player, this, slot), executor)
+                .whenComplete((result, throwable) -> {
+                    if (throwable != null) {
+                        menuManager.getPlugin().getLogger().log(Level.SEVERE,
+                                "Async click action in menu " + menu.getId() + " failed", throwable);
+                    }
+                    execute(() -> completeAsyncClick(button, slot, lock));
+                });
+    }
+
+    private void completeAsyncClick(Button button, int slot, Object lock) {
+        if (button.processingIcon != null) {
+            setIconOverride(slot, null);
+        }
+        Queue<Runnable> queued = inFlightClicks.get(lock);
+        if (queued == null) return; // The menu was closed or switched in the meantime
+        Runnable next = queued.poll();
+        if (next == null || closed) {
+            inFlightClicks.remove(lock);
+            return;
+        }
+        next.run();
+    }
+
+    private void setIconOverride(int slot, @Nullable Icon icon) {
+        if (closed) return;
+        if (iconOverrides == null) {
+            if (icon == null) return;
+            iconOverrides = new Icon[renderedItems.length];
+        }
+        iconOverrides[slot] = icon;
+        refresh(slot);
+    }
+
+    private boolean isRejected(Button button, InventoryClickEvent event) {
+        ClickLimiter menuLimiter = menu.clickLimiter;
+        ClickLimiter buttonLimiter = button.clickLimiter;
+        if (menuLimiter == null && buttonLimiter == null) return false;
+        UUID uuid = event.getWhoClicked().getUniqueId();
+        boolean accepted = menuLimiter == null || menuLimiter.tryAcquire(uuid);
+        if (accepted && buttonLimiter != null && !buttonLimiter.tryAcquire(uuid)) {
+            // Don't count the rejected click against the menu
+            if (menuLimiter != null) {
+                menuLimiter.refund(uuid);
+            }
+            accepted = false;
+        }
+        if (accepted) return false;
+        MenuMetrics metrics = getMetrics();
+        if (metrics != null) {
+            metrics.rejectedClicks.increment();
+        }
+        return true;
+    }
+
     /**
      * Handles a drag event on the menu view.
      *
      * @param event the event to handle
      */
     protected void onDrag(InventoryDragEvent event) {
+        lastActivity = System.nanoTime();
         menu.clickHandler.handleDrag(event);
+        if (event.isCancelled()) return;
+        for (int slot : event.getRawSlots()) {
+            if (slot < renderedItems.length) {
+                invalidate(slot);
+            }
+        }
     }
 
     /**
      * Handles the closing of the menu view.
      */
     protected void onClose() {
+        closed = true;
+        dirtySlots.clear();
+        inFlightClicks.clear();
+        asyncIcons.forEach(icon -> icon.untrack(this));
+        asyncIcons.clear();
         menu.onClose.accept(this);
     }
 
+    /**
+     * Gets the time of the last interaction of the player with this view,
+     * i.e. a click or a drag, or the time the view was opened.
+     *
+     * @return the time in nanoseconds, as returned by {@link System#nanoTime()}
+     */
+    long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * Checks whether the view was closed.
+     *
+     * @return true if the view was closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
     /**
      * Gets the player viewing the menu.
      *
-     * @return the player
+     * @return the player, or null if the view is shared by multiple players. See {@link #getViewers()}.
      */
     public Player getPlayer() {
         return menu.getPlayer();
     }
 
+    /**
+     * Gets the players viewing the menu.
+     * <p>This is only the player of the menu, unless the view is shared. See {@link SharedMenu}.</p>
+     *
+     * @return the players
+     */
+    public List<Player> getViewers() {
+        return List.of(getPlayer());
+    }
+
     /**
      * Gets the menu.
      *
@@ -0,0 +1,50 @@
+package de.clickism.clickgui.menu;
+
+import java.util.List;
+
+/**
+ * Represents an indexed source of entries shown in a {@link PaginatedMenu}.
+ * <p>Entries are only fetched for the page being shown and its neighbouring pages,
+ * so sources can be backed by large collections or databases.</p>
+ *
+ * @param <T> the type of the entries
+ */
+public interface PageSource<T> {
+    /**
+     * Gets the total number of entries.
+     *
+     * @return the number of entries
+     */
+    int size();
+
+    /**
+     * Fetches a range of entries.
+     * <p>This may be called asynchronously, i.e. to prefetch neighbouring pages.</p>
+     *
+     * @param offset the index of the first entry
+     * @param limit  the maximum number of entries
+     * @return the entries, at most {@code limit}
+     */
+    List<T> fetch(int offset, int limit);
+
+    /**
+     * Creates a page source backed by the given list.
+     *
+     * @param list the list
+     * @param <T>  the type of the entries
+     * @return the page source
+     */
+    static <T> PageSource<T> of(List<T> list) {
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public List<T> fetch(int offset, int limit) {
+                return list.subList(offset, Math.min(offset + limit, list.size()));
+            }
+        };
+    }
+}
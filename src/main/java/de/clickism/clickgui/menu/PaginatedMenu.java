@@ -0,0 +1,257 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a menu that shows the entries of a {@link PageSource} across multiple pages.
+ * <p>Buttons are only created for the entries of the page being shown. The neighbouring pages
+ * are prefetched asynchronously, and switching pages rewrites the open inventory in place,
+ * only writing the slots that changed.</p>
+ * <p>If a page is shown while it is still being prefetched, the page slots show the loading button
+ * until the entries arrive, instead of waiting for them.</p>
+ *
+ * @param <T> the type of the entries
+ */
+public class PaginatedMenu<T> extends Menu {
+    private final PageSource<T> source;
+    private final Function<T, Button> buttonFactory;
+    private int[] pageSlots;
+
+    private int previousPageSlot = -1;
+    @Nullable
+    private Button previousPageButton;
+    private int nextPageSlot = -1;
+    @Nullable
+    private Button nextPageButton;
+
+    @Nullable
+    private Button loadingButton;
+
+    private int page;
+    private int pageCount = 1;
+    /**
+     * Incremented whenever a page is shown, so that entries arriving
+     * after another page was shown are discarded.
+     */
+    private int pageLoad;
+    private final Map<Integer, CompletableFuture<List<T>>> prefetchedPages = new HashMap<>();
+    @Nullable
+    private MenuManager menuManager;
+
+    /**
+     * Creates a new paginated menu.
+     * <p>By default, all slots except the last row are used to show entries.</p>
+     *
+     * @param player        the player viewing the menu
+     * @param type          the type of menu
+     * @param source        the source of the entries
+     * @param buttonFactory the function that creates the button for an entry
+     */
+    public PaginatedMenu(Player player, MenuType type, PageSource<T> source, Function<T, Button> buttonFactory) {
+        super(player, type);
+        this.source = source;
+        this.buttonFactory = buttonFactory;
+        int pageSize = (size > 9) ? size - 9 : size;
+        this.pageSlots = IntStream.range(0, pageSize).toArray();
+    }
+
+    /**
+     * Sets the slots used to show entries, in order.
+     *
+     * @param slots the slots
+     * @return this menu
+     */
+    public PaginatedMenu<T> setPageSlots(int... slots) {
+        for (int slot : slots) {
+            if (slot >= size) {
+                throw new IllegalArgumentException("Slot " + slot + " out of bounds for menu with size " + size);
+            }
+        }
+        this.pageSlots = slots.clone();
+        prefetchedPages.clear();
+        return this;
+    }
+
+    /**
+     * Sets the button that shows the previous page, which is only shown if there is a previous page.
+     * <p>The click action of the button is replaced.</p>
+     *
+     * @param slot   the slot of the button
+     * @param button the button
+     * @return this menu
+     */
+    public PaginatedMenu<T> setPreviousPageButton(int slot, Button button) {
+        this.previousPageSlot = slot;
+        this.previousPageButton = button.setOnClick((player, view, s) -> previousPage(view));
+        return this;
+    }
+
+    /**
+     * Sets the button that shows the next page, which is only shown if there is a next page.
+     * <p>The click action of the button is replaced.</p>
+     *
+     * @param slot   the slot of the button
+     * @param button the button
+     * @return this menu
+     */
+    public PaginatedMenu<T> setNextPageButton(int slot, Button button) {
+        this.nextPageSlot = slot;
+        this.nextPageButton = button.setOnClick((player, view, s) -> nextPage(view));
+        return this;
+    }
+
+    /**
+     * Sets the button shown in the page slots while the entries of a page are loading.
+     * <p>By default, the page slots are empty while loading.</p>
+     *
+     * @param button the button, or null to leave the page slots empty
+     * @return this menu
+     */
+    public PaginatedMenu<T> setLoadingButton(@Nullable Button button) {
+        this.loadingButton = button;
+        return this;
+    }
+
+    @Override
+    protected void prepare(MenuManager menuManager) {
+        this.menuManager = menuManager;
+        showPage(page);
+    }
+
+    /**
+     * Shows the next page in the given view, if there is one.
+     *
+     * @param view the view of this menu
+     */
+    public void nextPage(MenuView view) {
+        setPage(view, page + 1);
+    }
+
+    /**
+     * Shows the previous page in the given view, if there is one.
+     *
+     * @param view the view of this menu
+     */
+    public void previousPage(MenuView view) {
+        setPage(view, page - 1);
+    }
+
+    /**
+     * Shows the given page in the given view, rewriting only the slots that changed.
+     *
+     * @param view the view of this menu
+     * @param page the index of the page, starting at 0
+     */
+    public void setPage(MenuView view, int page) {
+        if (page < 0 || page >= pageCount || page == this.page) return;
+        CompletableFuture<List<T>> prefetched = prefetchedPages.get(page);
+        if (prefetched == null || prefetched.isDone()) {
+            showPage(page);
+            view.refresh();
+            return;
+        }
+        // Don't block the thread of the view until the page is prefetched
+        int load = ++pageLoad;
+        this.page = page;
+        showLoading();
+        view.refresh();
+        prefetched.whenComplete((entries, throwable) -> view.execute(() -> {
+            if (load != pageLoad || view.isClosed() || view.getMenu() != this) return;
+            showPage(page);
+            view.refresh();
+        }));
+    }
+
+    /**
+     * Shows the entries of the current page again, fetching them from the source.
+     *
+     * @param view the view of this menu
+     */
+    public void reload(MenuView view) {
+        prefetchedPages.clear();
+        showPage(page);
+        view.refresh();
+    }
+
+    private void showPage(int page) {
+        int pageSize = pageSlots.length;
+        pageCount = Math.max(1, (source.size() + pageSize - 1) / pageSize);
+        this.page = Math.min(page, pageCount - 1);
+        pageLoad++;
+        List<T> entries = fetchPage(this.page);
+        for (int i = 0; i < pageSize; i++) {
+            Button button = (i < entries.size()) ? buttonFactory.apply(entries.get(i)) : null;
+            addButton(pageSlots[i], button);
+        }
+        showPageButtons();
+        prefetchNeighbours();
+    }
+
+    private void showLoading() {
+        for (int slot : pageSlots) {
+            addButton(slot, loadingButton);
+        }
+        showPageButtons();
+        prefetchNeighbours();
+    }
+
+    private void showPageButtons() {
+        if (previousPageButton != null) {
+            addButton(previousPageSlot, (page > 0) ? previousPageButton : null);
+        }
+        if (nextPageButton != null) {
+            addButton(nextPageSlot, (page < pageCount - 1) ? nextPageButton : null);
+        }
+    }
+
+    private List<T> fetchPage(int page) {
+        CompletableFuture<List<T>> prefetched = prefetchedPages.get(page);
+        if (prefetched != null && prefetched.isDone()) {
+            // Prefetches that failed are fetched again
+            if (!prefetched.isCompletedExceptionally()) {
+                return prefetched.join();
+            }
+            prefetchedPages.remove(page);
+        }
+        return source.fetch(page * pageSlots.length, pageSlots.length);
+    }
+
+    private void prefetchNeighbours() {
+        // Only keep the current page and its neighbours
+        prefetchedPages.keySet().removeIf(index -> Math.abs(index - page) > 1);
+        if (menuManager == null) return;
+        for (int index = page - 1; index <= page + 1; index += 2) {
+            if (index < 0 || index >= pageCount || prefetchedPages.containsKey(index)) continue;
+            int offset = index * pageSlots.length;
+            int limit = pageSlots.length;
+            prefetchedPages.put(index, CompletableFuture.supplyAsync(() -> source.fetch(offset, limit),
+                    menuManager.getAsyncExecutor()));
+        }
+    }
+
+    /**
+     * Gets the index of the current page, starting at 0.
+     *
+     * @return the index of the current page
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Gets the number of pages, as of the last time a page was shown.
+     *
+     * @return the number of pages
+     */
+    public int getPageCount() {
+        return pageCount;
+    }
+}
@@ -0,0 +1,178 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a menu that is shown in a single inventory viewed by multiple players,
+ * i.e. a leaderboard or a shared vault.
+ * <p>All viewers share one view, so refreshing the view writes each changed slot once,
+ * regardless of the number of viewers. Click actions receive the player who clicked,
+ * see {@link Button#setOnClick(ClickAction)}, and {@link MenuView#getPlayer()} returns null
+ * for the shared view. Use {@link MenuView#getViewers()} to get its viewers instead.</p>
+ * <p>The view is created when the menu is opened for the first time, running the open action,
+ * and is released depending on the {@link LastViewerPolicy} of the menu, running the close action.</p>
+ * <p>The shared view is owned by the main thread, so shared menus can't be used with
+ * region-threaded schedulers. See {@link MenuScheduler#isRegionThreaded()}.</p>
+ */
+public class SharedMenu extends Menu {
+    /**
+     * Defines what happens to the view of a shared menu when its last viewer leaves.
+     */
+    public enum LastViewerPolicy {
+        /**
+         * The view is released, and a new inventory is created when the menu is opened again.
+         */
+        DISPOSE,
+        /**
+         * The view is kept, so that its contents are kept when the menu is opened again.
+         * The view must be released using {@link SharedMenu#dispose()}.
+         */
+        KEEP
+    }
+
+    private LastViewerPolicy lastViewerPolicy = LastViewerPolicy.DISPOSE;
+    @Nullable
+    private SharedMenuView view;
+
+    /**
+     * Creates a new shared menu.
+     *
+     * @param type the type of menu
+     */
+    public SharedMenu(MenuType type) {
+        super(null, type);
+    }
+
+    /**
+     * Creates a new shared menu.
+     *
+     * @param inventoryType the type of inventory
+     */
+    public SharedMenu(InventoryType inventoryType) {
+        super(null, inventoryType);
+    }
+
+    /**
+     * Sets what happens to the view of the menu when its last viewer leaves.
+     * <p>By default, the view is disposed.</p>
+     *
+     * @param lastViewerPolicy the policy
+     * @return this menu
+     */
+    public SharedMenu setLastViewerPolicy(LastViewerPolicy lastViewerPolicy) {
+        this.lastViewerPolicy = lastViewerPolicy;
+        return this;
+    }
+
+    /**
+     * Gets what happens to the view of the menu when its last viewer leaves.
+     *
+     * @return the policy
+     */
+    public LastViewerPolicy getLastViewerPolicy() {
+        return lastViewerPolicy;
+    }
+
+    /**
+     * Creates the shared view of the menu if it doesn't exist yet, without adding any viewers.
+     * Use {@link #open(Player, MenuManager)} to open the menu for a player.
+     *
+     * @param menuManager the menu manager
+     * @throws IllegalStateException if the scheduler of the menu manager is region-threaded
+     * @return the shared view of the menu
+     */
+    @Override
+    public MenuView open(MenuManager menuManager) {
+        if (menuManager.getScheduler().isRegionThreaded()) {
+            throw new IllegalStateException("Shared menus are not supported by region-threaded schedulers");
+        }
+        synchronized (this) {
+            SharedMenuView current = view;
+            if (current != null && !current.isClosed() && current.getMenuManager() == menuManager) {
+                return current;
+            }
+            long start = menuManager.getStats().isEnabled() ? System.nanoTime() : 0;
+            SharedMenuView created = (SharedMenuView) createView(menuManager);
+            view = created;
+            // Render the menu on the main thread, before any viewers are added
+            created.execute(() -> {
+                if (created.isClosed()) return; // Disposed before it was rendered
+                render(created);
+                onOpen.accept(created);
+                menuManager.registerActiveView(created);
+                MenuMetrics metrics = created.getMetrics();
+                if (start != 0 && metrics != null) {
+                    metrics.opens.increment();
+                    metrics.openLatency.record(System.nanoTime() - start);
+                }
+            });
+            return created;
+        }
+    }
+
+    /**
+     * Opens the menu for the given player, adding the player to the viewers of the shared view.
+     * <p>The inventory is opened on the main thread.</p>
+     *
+     * @param player      the player
+     * @param menuManager the menu manager
+     * @throws IllegalStateException if the scheduler of the menu manager is region-threaded
+     * @return the shared view of the menu
+     */
+    public MenuView open(Player player, MenuManager menuManager) {
+        SharedMenuView sharedView = (SharedMenuView) open(menuManager);
+        sharedView.execute(() -> {
+            if (player.openInventory(sharedView.getInventory()) == null) return;
+            sharedView.addViewer(player);
+        });
+        return sharedView;
+    }
+
+    /**
+     * Opens the menu for the given player using the instance of the menu manager
+     * set by {@link MenuManager#setInstance(MenuManager)}.
+     *
+     * @param player the player
+     * @throws IllegalStateException if no instance was set
+     * @return the shared view of the menu
+     */
+    public MenuView open(Player player) {
+        MenuManager menuManager = MenuManager.getInstance();
+        if (menuManager == null) {
+            throw new IllegalStateException("MenuManager instance not set");
+        }
+        return open(player, menuManager);
+    }
+
+    /**
+     * Closes the menu for all viewers and releases its view, regardless of its {@link LastViewerPolicy}.
+     */
+    public void dispose() {
+        SharedMenuView current;
+        synchronized (this) {
+            current = view;
+            view = null;
+        }
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    /**
+     * Gets the shared view of the menu.
+     *
+     * @return the view, or null if the menu wasn't opened or its view was released
+     */
+    @Nullable
+    public synchronized MenuView getView() {
+        return (view == null || view.isClosed()) ? null : view;
+    }
+
+    @Override
+    MenuView newView(Inventory inventory, MenuManager menuManager) {
+        return new SharedMenuView(this, inventory, menuManager);
+    }
+}
@@ -0,0 +1,127 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Represents the view of a {@link SharedMenu}, whose inventory is viewed by multiple players.
+ * <p>The view is owned by the main thread, so its viewers are only modified on the main thread.</p>
+ */
+final class SharedMenuView extends MenuView {
+    private final SharedMenu sharedMenu;
+    private final Map<UUID, Player> viewers = new LinkedHashMap<>();
+
+    /**
+     * Creates a new shared menu view.
+     *
+     * @param menu        the shared menu
+     * @param inventory   the inventory
+     * @param menuManager the menu manager
+     */
+    SharedMenuView(SharedMenu menu, Inventory inventory, MenuManager menuManager) {
+        super(menu, inventory, menuManager);
+        this.sharedMenu = menu;
+    }
+
+    /**
+     * Adds a player that opened the inventory of this view to its viewers.
+     *
+     * @param viewer the player
+     */
+    void addViewer(Player viewer) {
+        if (isClosed() || viewers.putIfAbsent(viewer.getUniqueId(), viewer) != null) return;
+        getMenuManager().registerViewer(this, viewer);
+    }
+
+    /**
+     * Removes a player that stopped viewing the inventory of this view from its viewers,
+     * disposing the view if it was the last viewer and the policy of the menu says so.
+     *
+     * @param viewer the player
+     */
+    void removeViewer(HumanEntity viewer) {
+        if (viewers.remove(viewer.getUniqueId()) == null) return;
+        getMenuManager().unregisterViewer(this, viewer);
+        if (viewers.isEmpty() && sharedMenu.getLastViewerPolicy() == SharedMenu.LastViewerPolicy.DISPOSE) {
+            dispose();
+        }
+    }
+
+    /**
+     * Closes the inventory for all viewers, and releases the view regardless of the
+     * policy of the menu, running its close action.
+     */
+    void dispose() {
+        if (executeOnOwner(this::dispose)) return;
+        if (isClosed()) return;
+        new ArrayList<>(viewers.values()).forEach(Player::closeInventory);
+        if (isClosed()) return; // Disposed by the close event of the last viewer
+        getMenuManager().unregisterActiveView(this);
+        onClose();
+    }
+
+    /**
+     * Closes the inventory for all viewers.
+     * <p>Whether the view is released depends on the policy of the menu.
+     * See {@link SharedMenu#setLastViewerPolicy(SharedMenu.LastViewerPolicy)}.</p>
+     */
+    @Override
+    public void close() {
+        if (executeOnOwner(this::close)) return;
+        new ArrayList<>(viewers.values()).forEach(Player::closeInventory);
+    }
+
+    /**
+     * Opens the given menu.
+     * <p>Menus with a player are opened for their player, like {@link Menu#open(MenuManager)}.
+     * If the menu is another {@link SharedMenu}, all viewers of this view are moved to it.</p>
+     *
+     * @param menu the menu to open
+     */
+    @Override
+    public void open(Menu menu) {
+        if (!(menu instanceof SharedMenu sharedMenu)) {
+            super.open(menu);
+            return;
+        }
+        if (executeOnOwner(() -> open(menu))) return;
+        if (sharedMenu == getMenu()) return; // Already viewed by all viewers
+        getViewers().forEach(viewer -> sharedMenu.open(viewer, getMenuManager()));
+    }
+
+    /**
+     * Refreshes all buttons of the shared menu for all viewers.
+     * <p>Since the inventory is shared by all viewers, it isn't opened again, and the
+     * close and open actions of the menu are not run.</p>
+     */
+    @Override
+    public void reopen() {
+        refresh();
+    }
+
+    @Override
+    protected void onClose() {
+        super.onClose();
+        viewers.clear();
+    }
+
+    @Override
+    boolean executeOnOwner(Runnable task) {
+        if (Bukkit.isPrimaryThread()) return false;
+        getMenuManager().getScheduler().runNextTick(task);
+        return true;
+    }
+
+    @Override
+    public List<Player> getViewers() {
+        return List.copyOf(viewers.values());
+    }
+}
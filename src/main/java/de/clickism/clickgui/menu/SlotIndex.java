@@ -0,0 +1,206 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Indexes the items written to the slots of a menu view by their fingerprint,
+ * so that checking whether the menu contains an item doesn't require comparing every slot.
+ * <p>Slots are grouped by the material of their item when it is written. The hash of the item meta
+ * of a slot is only computed from the item in the inventory the first time the slot is looked up,
+ * since getting the item meta copies it. Only if the material and meta hash of a slot match,
+ * the item in the inventory is compared using {@link ItemStack#isSimilar(ItemStack)}.</p>
+ * <p>The index doesn't keep the written items, so it isn't affected if an item is modified
+ * after it was written to a slot.</p>
+ * <p>The index is updated whenever the view writes to a slot. Slots modified outside of the view,
+ * i.e. by a click that wasn't cancelled, are read from the inventory until they are written to again.</p>
+ */
+public final class SlotIndex {
+    private final Inventory inventory;
+    private final Map<Material, BitSet> slotsByMaterial = new EnumMap<>(Material.class);
+    /**
+     * The materials of the items written to the slots, or null for empty slots.
+     */
+    private final Material[] materials;
+    /**
+     * The hashes of the item meta of the items in the slots.
+     */
+    private final int[] metaHashes;
+    /**
+     * The slots whose meta hash was computed.
+     */
+    private final BitSet hashedSlots = new BitSet();
+    /**
+     * The slots whose contents are unknown, because they were modified outside of the view.
+     */
+    private final BitSet unknownSlots = new BitSet();
+
+    /**
+     * Creates a new empty slot index for the given inventory.
+     *
+     * @param inventory the inventory
+     */
+    SlotIndex(Inventory inventory) {
+        this.inventory = inventory;
+        this.materials = new Material[inventory.getSize()];
+        this.metaHashes = new int[inventory.getSize()];
+    }
+
+    /**
+     * Updates the item of the given slot.
+     *
+     * @param slot the slot
+     * @param item the item written to the slot, or null if it was cleared
+     */
+    void set(int slot, @Nullable ItemStack item) {
+        remove(slot);
+        unknownSlots.clear(slot);
+        if (item == null || item.getType().isAir()) return;
+        materials[slot] = item.getType();
+        slotsByMaterial.computeIfAbsent(item.getType(), material -> new BitSet()).set(slot);
+    }
+
+    /**
+     * Updates the items of all slots.
+     *
+     * @param contents the contents written to the inventory
+     */
+    void setAll(@Nullable ItemStack[] contents) {
+        clear();
+        unknownSlots.clear();
+        for (int slot = 0; slot < contents.length; slot++) {
+            set(slot, contents[slot]);
+        }
+    }
+
+    /**
+     * Marks the given slot as unknown, so that its item is read from the inventory.
+     *
+     * @param slot the slot
+     */
+    void invalidate(int slot) {
+        remove(slot);
+        unknownSlots.set(slot);
+    }
+
+    /**
+     * Marks all slots as unknown, so that their items are read from the inventory.
+     */
+    void invalidate() {
+        clear();
+        unknownSlots.set(0, materials.length);
+    }
+
+    private void remove(int slot) {
+        Material previous = materials[slot];
+        if (previous == null) return;
+        materials[slot] = null;
+        hashedSlots.clear(slot);
+        BitSet slots = slotsByMaterial.get(previous);
+        if (slots != null) {
+            slots.clear(slot);
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(materials, null);
+        hashedSlots.clear();
+        slotsByMaterial.values().forEach(BitSet::clear);
+    }
+
+    /**
+     * Checks whether any slot contains an item similar to the given item.
+     *
+     * @param item the item
+     * @return true if a slot contains a similar item
+     */
+    public boolean containsSimilar(ItemStack item) {
+        return findSimilar(item, null) >= 0;
+    }
+
+    /**
+     * Gets all slots containing an item similar to the given item.
+     *
+     * @param item the item
+     * @return the slots, which may be modified
+     */
+    public BitSet getSimilarSlots(ItemStack item) {
+        BitSet result = new BitSet();
+        findSimilar(item, result);
+        return result;
+    }
+
+    /**
+     * Gets all slots containing an item of the given material.
+     *
+     * @param material the material
+     * @return the slots, which may be modified
+     */
+    public BitSet getSlots(Material material) {
+        BitSet result = new BitSet();
+        BitSet slots = slotsByMaterial.get(material);
+        if (slots != null) {
+            result.or(slots);
+        }
+        for (int slot = unknownSlots.nextSetBit(0); slot >= 0; slot = unknownSlots.nextSetBit(slot + 1)) {
+            ItemStack current = inventory.getItem(slot);
+            if (current != null && current.getType() == material) {
+                result.set(slot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the slots containing an item similar to the given item.
+     *
+     * @param item   the item
+     * @param result the set to add all matching slots to, or null to stop at the first match
+     * @return the first matching slot, or -1 if no slot matches
+     */
+    private int findSimilar(ItemStack item, @Nullable BitSet result) {
+        int first = -1;
+        BitSet slots = slotsByMaterial.get(item.getType());
+        if (slots != null && !slots.isEmpty()) {
+            int hash = metaHash(item);
+            for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                ItemStack current = null;
+                if (!hashedSlots.get(slot)) {
+                    current = inventory.getItem(slot);
+                    metaHashes[slot] = (current == null) ? 0 : metaHash(current);
+                    hashedSlots.set(slot);
+                }
+                if (metaHashes[slot] != hash) continue;
+                if (current == null) {
+                    current = inventory.getItem(slot);
+                }
+                if (current == null || !current.isSimilar(item)) continue;
+                if (result == null) return slot;
+                if (first < 0) first = slot;
+                result.set(slot);
+            }
+        }
+        for (int slot = unknownSlots.nextSetBit(0); slot >= 0; slot = unknownSlots.nextSetBit(slot + 1)) {
+            ItemStack current = inventory.getItem(slot);
+            if (current == null || !current.isSimilar(item)) continue;
+            if (result == null) return slot;
+            if (first < 0) first = slot;
+            result.set(slot);
+        }
+        return first;
+    }
+
+    private static int metaHash(ItemStack item) {
+        if (!item.hasItemMeta()) return 0;
+        ItemMeta meta = item.getItemMeta();
+        return (meta == null) ? 0 : meta.hashCode();
+    }
+}
@@ -0,0 +1,80 @@
+package de.clickism.clickgui.menu;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.function.Consumer;
+
+/**
+ * Represents an icon that always returns the same item stack.
+ * <p>Interned icons are shared, so they are copied on write. See {@link IconRegistry}.</p>
+ */
+final class StaticIcon implements Icon {
+    private final ItemStack item;
+    private final boolean interned;
+    /**
+     * Incremented whenever the item stack is modified, so that views notice
+     * the change although the icon returns the same item stack.
+     */
+    private long version = 1;
+
+    /**
+     * Creates a new static icon.
+     *
+     * @param item the item stack, which is not copied
+     */
+    StaticIcon(ItemStack item) {
+        this(item, false);
+    }
+
+    /**
+     * Creates a new static icon.
+     *
+     * @param item     the item stack, which is not copied
+     * @param interned whether the icon is interned, and must not be modified
+     */
+    StaticIcon(ItemStack item, boolean interned) {
+        this.item = item;
+        this.interned = interned;
+    }
+
+    @Override
+    public ItemStack get() {
+        return item;
+    }
+
+    @Override
+    public Icon setMaterial(Material material) {
+        if (!interned) {
+            Icon.super.setMaterial(material);
+            version++;
+            return this;
+        }
+        return new StaticIcon(item.clone()).setMaterial(material);
+    }
+
+    @Override
+    public Icon applyToMeta(Consumer<ItemMeta> consumer) {
+        if (!interned) {
+            Icon.super.applyToMeta(consumer);
+            version++;
+            return this;
+        }
+        return new StaticIcon(item.clone()).applyToMeta(consumer);
+    }
+
+    /**
+     * Gets the version of this icon, which changes every time its item stack is modified.
+     *
+     * @return the version
+     */
+    long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Icon intern() {
+        return interned ? this : IconRegistry.intern(item);
+    }
+}
@@ -0,0 +1,145 @@
+package de.clickism.clickgui.menu;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Represents a colorized text with placeholders, i.e. {@code "&7Price: &e{price}"}, that is
+ * parsed once and can be rendered many times by only filling in its placeholders.
+ * <p>The colors of the text are translated when the template is compiled, so rendering
+ * the template doesn't translate them again. The values of placeholders are inserted as they are,
+ * and are not colorized.</p>
+ * <p>Placeholders are written as a name in curly braces. Placeholders without a value are
+ * rendered as they were written.</p>
+ */
+public final class TextTemplate {
+    /**
+     * The literal segments, with one more segment than placeholders.
+     */
+    private final String[] literals;
+    /**
+     * The names of the placeholders between the literal segments.
+     */
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private TextTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles a template from the given text, translating its colors.
+     *
+     * @param text the text
+     * @return the template
+     */
+    public static TextTemplate compile(@Colorized String text) {
+        String colorized = Utils.colorize(text);
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int start = 0;
+        int open = colorized.indexOf('{');
+        while (open >= 0) {
+            int close = colorized.indexOf('}', open + 1);
+            if (close < 0) break;
+            // Use the innermost opening brace, i.e. for "{{name}"
+            int innerOpen = colorized.lastIndexOf('{', close);
+            literals.add(colorized.substring(start, innerOpen));
+            placeholders.add(colorized.substring(innerOpen + 1, close));
+            start = close + 1;
+            open = colorized.indexOf('{', start);
+        }
+        literals.add(colorized.substring(start));
+        return new TextTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Compiles a template for each of the given lines, translating their colors.
+     *
+     * @param lines the lines
+     * @return the templates
+     */
+    public static List<TextTemplate> compile(@Colorized List<String> lines) {
+        List<TextTemplate> templates = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            templates.add(compile(line));
+        }
+        return templates;
+    }
+
+    /**
+     * Renders the template, filling in the placeholders with the given values.
+     *
+     * @param values the values of the placeholders by their names
+     * @return the rendered text
+     */
+    public String render(Map<String, ?> values) {
+        return render(values::get);
+    }
+
+    /**
+     * Renders the template, filling in the placeholders with the values returned by the resolver.
+     *
+     * @param resolver the function that returns the value of a placeholder by its name,
+     *                 or null if the placeholder has no value
+     * @return the rendered text
+     */
+    public String render(Function<String, ?> resolver) {
+        if (placeholders.length == 0) return literals[0];
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * 8);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            Object value = resolver.apply(placeholders[i]);
+            if (value == null) {
+                builder.append('{').append(placeholders[i]).append('}');
+            } else {
+                builder.append(value);
+            }
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    /**
+     * Renders each of the given templates, filling in the placeholders with the given values.
+     *
+     * @param templates the templates
+     * @param values    the values of the placeholders by their names
+     * @return the rendered lines
+     */
+    public static List<String> render(List<TextTemplate> templates, Map<String, ?> values) {
+        List<String> lines = new ArrayList<>(templates.size());
+        for (TextTemplate template : templates) {
+            lines.add(template.render(values));
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the names of the placeholders of the template, in order.
+     *
+     * @return the names of the placeholders
+     */
+    public List<String> getPlaceholders() {
+        return List.of(placeholders);
+    }
+
+    /**
+     * Gets the text of the template if it has no placeholders.
+     *
+     * @return the colorized text, or null if the template has placeholders
+     */
+    @Nullable
+    public String getText() {
+        return (placeholders.length == 0) ? literals[0] : null;
+    }
+}
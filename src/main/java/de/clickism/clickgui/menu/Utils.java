@@ -2,10 +2,28 @@ package de.clickism.clickgui.menu;
 
 import org.bukkit.ChatColor;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Utility class.
  */
 class Utils {
+    /**
+     * The maximum number of colorized strings kept in the cache.
+     */
+    private static final int COLORIZE_CACHE_SIZE = 1024;
+    /**
+     * The maximum length of strings whose colorized form is cached.
+     */
+    private static final int MAX_CACHED_LENGTH = 256;
+
+    /**
+     * The colorized forms of colorized strings, which is cleared when it is full.
+     * <p>Lookups don't lock or reorder entries, so that colorizing on many threads doesn't contend.</p>
+     */
+    private static final Map<String, String> colorizeCache = new ConcurrentHashMap<>(64);
+
     /**
      * No constructor for utility class.
      */
@@ -14,11 +32,27 @@ class Utils {
 
     /**
      * Colorizes a string with the alternate color code '&amp;'.
+     * <p>Strings without color codes are returned as they are, and the colorized forms of
+     * short strings are cached, since the same names and lore lines are colorized repeatedly.
+     * Use {@link TextTemplate} for text with changing values.</p>
      *
      * @param text the text to colorize
      * @return colorized string
      **/
     public static String colorize(String text) {
-        return ChatColor.translateAlternateColorCodes('&', text);
+        if (text.indexOf('&') < 0) return text;
+        if (text.length() > MAX_CACHED_LENGTH) {
+            return ChatColor.translateAlternateColorCodes('&', text);
+        }
+        String colorized = colorizeCache.get(text);
+        if (colorized != null) return colorized;
+        colorized = ChatColor.translateAlternateColorCodes('&', text);
+        // Changing text, i.e. counters, fills the cache over time. Clearing it is cheaper than
+        // tracking the least recently used strings, and frequent strings are cached again right away
+        if (colorizeCache.size() >= COLORIZE_CACHE_SIZE) {
+            colorizeCache.clear();
+        }
+        colorizeCache.put(text, colorized);
+        return colorized;
     }
 }
@@ -1,5 +1,6 @@
 package de.clickism.clickgui.menu.handler;
 
+import de.clickism.clickgui.menu.MenuHolder;
 import org.bukkit.event.inventory.ClickType;
 import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -64,9 +65,14 @@ public class StaticClickHandler implements ClickHandler {
         if (event.getAction() != InventoryAction.COLLECT_TO_CURSOR) return false;
         ItemStack cursor = event.getCursor();
         if (cursor == null) return false;
+        Inventory topInventory = event.getView().getTopInventory();
+        // Menu views index the items of their slots, so only slots with similar items are compared
+        if (topInventory.getHolder() instanceof MenuHolder holder && holder.getView() != null) {
+            return holder.getView().getSlotIndex().containsSimilar(cursor);
+        }
         // Iterate through all items in the top inventory, if any of them is similar to the cursor, it is an illegal
         // double click. Since, the player would otherwise collect those items from the top inventory.
-        for (ItemStack item : event.getView().getTopInventory()) {
+        for (ItemStack item : topInventory) {
             if (item != null && item.isSimilar(cursor)) return true;
         }
         return false;
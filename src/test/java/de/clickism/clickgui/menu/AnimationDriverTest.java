@@ -0,0 +1,44 @@
+package de.clickism.clickgui.menu;
+
+import de.clickism.clickgui.headless.HeadlessPlayer;
+import de.clickism.clickgui.headless.HeadlessScheduler;
+import de.clickism.clickgui.headless.HeadlessServer;
+import org.bukkit.Material;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimationDriverTest {
+    private HeadlessServer server;
+    private HeadlessScheduler scheduler;
+    private MenuManager menuManager;
+
+    @BeforeEach
+    void setUp() {
+        server = HeadlessServer.start();
+        server.reset();
+        scheduler = new HeadlessScheduler();
+        menuManager = server.createMenuManager(scheduler);
+    }
+
+    @Test
+    void animatesIconsTrackedAgainAfterClear() {
+        HeadlessPlayer player = server.createPlayer("player");
+        AnimatedIcon icon = Icon.animated(10, Icon.of(Material.DIAMOND), Icon.of(Material.STONE));
+        new Menu(player.getPlayer(), MenuType.MENU_9X3)
+                .addButton(0, Button.withIcon(icon))
+                .open(menuManager);
+        scheduler.tick(3);
+
+        menuManager.closeActiveMenus();
+        MenuView view = new Menu(player.getPlayer(), MenuType.MENU_9X3)
+                .addButton(0, Button.withIcon(icon))
+                .open(menuManager);
+        int frame = icon.getFrame();
+        scheduler.tick(10);
+
+        assertEquals((frame + 1) % 2, icon.getFrame());
+        assertEquals(icon.get().getType(), view.getInventory().getItem(0).getType());
+    }
+}
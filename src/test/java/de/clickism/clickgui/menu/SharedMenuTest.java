@@ -0,0 +1,79 @@
+package de.clickism.clickgui.menu;
+
+import de.clickism.clickgui.headless.HeadlessPlayer;
+import de.clickism.clickgui.headless.HeadlessScheduler;
+import de.clickism.clickgui.headless.HeadlessServer;
+import org.bukkit.Material;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SharedMenuTest {
+    private HeadlessServer server;
+    private MenuManager menuManager;
+
+    @BeforeEach
+    void setUp() {
+        server = HeadlessServer.start();
+        server.reset();
+        menuManager = server.createMenuManager(new HeadlessScheduler());
+    }
+
+    @Test
+    void opensMenuOfPlayerFromSharedView() {
+        HeadlessPlayer first = server.createPlayer("first");
+        HeadlessPlayer second = server.createPlayer("second");
+        SharedMenu sharedMenu = new SharedMenu(MenuType.MENU_9X3);
+        sharedMenu.setLastViewerPolicy(SharedMenu.LastViewerPolicy.KEEP);
+        Menu[] opened = new Menu[1];
+        sharedMenu.addButton(0, Button.withIcon(Material.DIAMOND).setOnClick((player, view, slot) -> {
+            opened[0] = new Menu(player, MenuType.MENU_9X3);
+            view.open(opened[0]);
+        }));
+        MenuView sharedView = sharedMenu.open(first.getPlayer(), menuManager);
+        sharedMenu.open(second.getPlayer(), menuManager);
+
+        first.click(0);
+
+        MenuView view = menuManager.getOpenView(first.getPlayer());
+        assertNotNull(view);
+        assertSame(opened[0], view.getMenu());
+        assertEquals(1, sharedView.getViewers().size());
+        assertSame(sharedView, menuManager.getOpenView(second.getPlayer()));
+    }
+
+    @Test
+    void movesViewersToOtherSharedMenu() {
+        HeadlessPlayer first = server.createPlayer("first");
+        HeadlessPlayer second = server.createPlayer("second");
+        SharedMenu sharedMenu = new SharedMenu(MenuType.MENU_9X3);
+        SharedMenu otherMenu = new SharedMenu(MenuType.MENU_9X3);
+        MenuView sharedView = sharedMenu.open(first.getPlayer(), menuManager);
+        sharedMenu.open(second.getPlayer(), menuManager);
+
+        sharedView.open(otherMenu);
+
+        MenuView otherView = otherMenu.getView();
+        assertNotNull(otherView);
+        assertEquals(2, otherView.getViewers().size());
+        assertSame(otherView, menuManager.getOpenView(first.getPlayer()));
+        assertTrue(sharedView.isClosed());
+    }
+
+    @Test
+    void reopenRefreshesSharedView() {
+        HeadlessPlayer player = server.createPlayer("player");
+        SharedMenu sharedMenu = new SharedMenu(MenuType.MENU_9X3);
+        Button button = Button.withIcon(Material.DIAMOND);
+        sharedMenu.addButton(0, button);
+        MenuView sharedView = sharedMenu.open(player.getPlayer(), menuManager);
+        button.setMaterial(Material.STONE);
+
+        sharedView.reopen();
+
+        assertFalse(sharedView.isClosed());
+        assertEquals(Material.STONE, sharedView.getInventory().getItem(0).getType());
+        assertSame(sharedView, menuManager.getOpenView(player.getPlayer()));
+    }
+}
@@ -0,0 +1,173 @@
+package de.clickism.clickgui.headless;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The state of an in-memory {@link Inventory}.
+ * <p>Like the server, the inventory stores copies of the items written to it.</p>
+ */
+final class HeadlessInventory implements Proxies.Handler {
+    private final InventoryHolder holder;
+    private final InventoryType type;
+    private final String title;
+    private final ItemStack[] contents;
+    private final List<HumanEntity> viewers = new ArrayList<>();
+    private long writes;
+
+    private HeadlessInventory(InventoryHolder holder, InventoryType type, int size, String title) {
+        this.holder = holder;
+        this.type = type;
+        this.title = title;
+        this.contents = new ItemStack[size];
+    }
+
+    /**
+     * Creates a new inventory.
+     *
+     * @param holder the holder, may be null
+     * @param type   the type
+     * @param size   the size
+     * @param title  the title
+     * @return the inventory
+     */
+    static Inventory create(InventoryHolder holder, InventoryType type, int size, String title) {
+        return Proxies.create(new HeadlessInventory(holder, type, size, title), Inventory.class);
+    }
+
+    /**
+     * Creates a new player inventory.
+     *
+     * @param player the player
+     * @return the inventory
+     */
+    static PlayerInventory createPlayerInventory(HumanEntity player) {
+        HeadlessInventory state = new HeadlessInventory(null, InventoryType.PLAYER, 41, "Inventory");
+        return Proxies.create((proxy, method, args) -> {
+            if (method.getName().equals("getHolder")) return player;
+            return state.invoke(proxy, method, args);
+        }, PlayerInventory.class);
+    }
+
+    /**
+     * Gets the state of the given inventory, if it was created by the headless server.
+     *
+     * @param inventory the inventory
+     * @return the state, or null
+     */
+    static HeadlessInventory of(Inventory inventory) {
+        return (Proxies.handlerOf(inventory) instanceof HeadlessInventory state) ? state : null;
+    }
+
+    /**
+     * Gets the viewers of the inventory, which are updated by the headless players.
+     *
+     * @return the viewers
+     */
+    List<HumanEntity> viewers() {
+        return viewers;
+    }
+
+    /**
+     * Gets the type of the inventory.
+     *
+     * @return the type
+     */
+    InventoryType type() {
+        return type;
+    }
+
+    /**
+     * Gets the title of the inventory.
+     *
+     * @return the title
+     */
+    String title() {
+        return title;
+    }
+
+    /**
+     * Gets the number of slot writes made to the inventory.
+     *
+     * @return the number of writes
+     */
+    long writes() {
+        return writes;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getSize":
+                return contents.length;
+            case "getItem":
+                ItemStack item = contents[(int) args[0]];
+                return (item == null) ? null : item.clone();
+            case "setItem":
+                contents[(int) args[0]] = copy((ItemStack) args[1]);
+                writes++;
+                return null;
+            case "getContents":
+            case "getStorageContents":
+                return copyOfContents();
+            case "setContents":
+            case "setStorageContents":
+                ItemStack[] items = (ItemStack[]) args[0];
+                if (items.length > contents.length) {
+                    throw new IllegalArgumentException("Invalid inventory size; expected " + contents.length + " or less");
+                }
+                for (int i = 0; i < contents.length; i++) {
+                    contents[i] = (i < items.length) ? copy(items[i]) : null;
+                }
+                writes += contents.length;
+                return null;
+            case "clear":
+                if (args.length == 0) {
+                    Arrays.fill(contents, null);
+                } else {
+                    contents[(int) args[0]] = null;
+                }
+                return null;
+            case "firstEmpty":
+                for (int i = 0; i < contents.length; i++) {
+                    if (contents[i] == null) return i;
+                }
+                return -1;
+            case "isEmpty":
+                return Arrays.stream(contents).allMatch(content -> content == null);
+            case "iterator":
+                return Arrays.asList(copyOfContents()).listIterator();
+            case "getViewers":
+                return new ArrayList<>(viewers);
+            case "getHolder":
+                return holder;
+            case "getType":
+                return type;
+            case "getMaxStackSize":
+                return 64;
+            default:
+                return Proxies.fallback(proxy, method, args);
+        }
+    }
+
+    private ItemStack[] copyOfContents() {
+        ItemStack[] copies = new ItemStack[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            copies[i] = copy(contents[i]);
+        }
+        return copies;
+    }
+
+    private static ItemStack copy(ItemStack item) {
+        return (item == null || item.getType().isAir()) ? null : item.clone();
+    }
+}
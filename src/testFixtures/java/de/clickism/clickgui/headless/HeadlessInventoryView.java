@@ -0,0 +1,78 @@
+package de.clickism.clickgui.headless;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+
+/**
+ * An inventory view of a headless player, showing an inventory above the inventory of the player.
+ */
+final class HeadlessInventoryView extends InventoryView {
+    private final Inventory topInventory;
+    private final Inventory bottomInventory;
+    private final HumanEntity player;
+    private final String originalTitle;
+    private String title;
+
+    /**
+     * Creates a new inventory view.
+     *
+     * @param topInventory    the inventory the player opened
+     * @param bottomInventory the inventory of the player
+     * @param player          the player
+     */
+    HeadlessInventoryView(Inventory topInventory, Inventory bottomInventory, HumanEntity player) {
+        this.topInventory = topInventory;
+        this.bottomInventory = bottomInventory;
+        this.player = player;
+        HeadlessInventory state = HeadlessInventory.of(topInventory);
+        this.originalTitle = (state == null) ? "" : state.title();
+        this.title = originalTitle;
+    }
+
+    @Override
+    public Inventory getTopInventory() {
+        return topInventory;
+    }
+
+    @Override
+    public Inventory getBottomInventory() {
+        return bottomInventory;
+    }
+
+    @Override
+    public HumanEntity getPlayer() {
+        return player;
+    }
+
+    @Override
+    public InventoryType getType() {
+        return topInventory.getType();
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    // Not overridden, since these aren't abstract in all supported API versions
+
+    /**
+     * Gets the title the inventory was opened with.
+     *
+     * @return the original title
+     */
+    public String getOriginalTitle() {
+        return originalTitle;
+    }
+
+    /**
+     * Sets the title of the view.
+     *
+     * @param title the title
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+}
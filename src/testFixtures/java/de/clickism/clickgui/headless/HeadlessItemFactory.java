@@ -0,0 +1,63 @@
+package de.clickism.clickgui.headless;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.lang.reflect.Method;
+
+/**
+ * An in-memory {@link ItemFactory} creating {@link HeadlessItemMeta item metas}.
+ * <p>All materials share the same kind of item meta, except for air, which has none.</p>
+ */
+final class HeadlessItemFactory implements Proxies.Handler {
+    private HeadlessItemFactory() {
+    }
+
+    /**
+     * Creates a new item factory.
+     *
+     * @return the item factory
+     */
+    static ItemFactory create() {
+        return Proxies.create(new HeadlessItemFactory(), ItemFactory.class);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getItemMeta":
+                return getItemMeta((Material) args[0]);
+            case "isApplicable":
+                return args[1] != Material.AIR;
+            case "asMetaFor":
+                return args[0];
+            case "updateMaterial":
+                return args[1];
+            case "equals":
+                if (args.length == 2) return metaEquals(args[0], args[1]);
+                return proxy == args[0];
+            default:
+                return Proxies.fallback(proxy, method, args);
+        }
+    }
+
+    private static boolean metaEquals(Object first, Object second) {
+        HeadlessItemMeta firstMeta = HeadlessItemMeta.of(first);
+        HeadlessItemMeta secondMeta = HeadlessItemMeta.of(second);
+        // Like the server, a missing item meta equals an empty one
+        if (firstMeta == null) return secondMeta == null || secondMeta.isEmpty();
+        if (secondMeta == null) return firstMeta.isEmpty();
+        return firstMeta.stateEquals(secondMeta);
+    }
+
+    /**
+     * Creates an empty item meta for the given material.
+     *
+     * @param material the material
+     * @return the item meta, or null for air
+     */
+    private static ItemMeta getItemMeta(Material material) {
+        return (material == Material.AIR) ? null : HeadlessItemMeta.create();
+    }
+}
@@ -0,0 +1,177 @@
+package de.clickism.clickgui.headless;
+
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeModifier;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * The state of an in-memory {@link ItemMeta}.
+ * <p>Supports the display name, lore, custom model data, item flags, enchantments,
+ * attribute modifiers and unbreakability. All other properties are ignored.</p>
+ */
+final class HeadlessItemMeta implements Proxies.Handler {
+    private String displayName;
+    private List<String> lore;
+    private Integer customModelData;
+    private final EnumSet<ItemFlag> itemFlags = EnumSet.noneOf(ItemFlag.class);
+    private final Map<Enchantment, Integer> enchants = new LinkedHashMap<>();
+    private final Map<Attribute, List<AttributeModifier>> attributeModifiers = new LinkedHashMap<>();
+    private boolean unbreakable;
+
+    private HeadlessItemMeta() {
+    }
+
+    /**
+     * Creates a new empty item meta.
+     *
+     * @return the item meta
+     */
+    static ItemMeta create() {
+        return create(new HeadlessItemMeta());
+    }
+
+    private static ItemMeta create(HeadlessItemMeta state) {
+        return Proxies.create(state, ItemMeta.class);
+    }
+
+    /**
+     * Gets the state of the given item meta, if it was created by the headless server.
+     *
+     * @param meta the item meta
+     * @return the state, or null
+     */
+    static HeadlessItemMeta of(Object meta) {
+        return Proxies.handlerOf(meta) instanceof HeadlessItemMeta state ? state : null;
+    }
+
+    /**
+     * Checks whether this item meta has no properties set.
+     *
+     * @return true if empty
+     */
+    boolean isEmpty() {
+        return displayName == null && lore == null && customModelData == null && itemFlags.isEmpty()
+               && enchants.isEmpty() && attributeModifiers.isEmpty() && !unbreakable;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getDisplayName":
+                return displayName;
+            case "setDisplayName":
+                displayName = (String) args[0];
+                return null;
+            case "hasDisplayName":
+                return displayName != null;
+            case "getLore":
+                return (lore == null) ? null : new ArrayList<>(lore);
+            case "setLore":
+                List<String> newLore = (List<String>) args[0];
+                lore = (newLore == null || newLore.isEmpty()) ? null : new ArrayList<>(newLore);
+                return null;
+            case "hasLore":
+                return lore != null;
+            case "getCustomModelData":
+                return (customModelData == null) ? 0 : customModelData;
+            case "setCustomModelData":
+                customModelData = (Integer) args[0];
+                return null;
+            case "hasCustomModelData":
+                return customModelData != null;
+            case "addItemFlags":
+                itemFlags.addAll(List.of((ItemFlag[]) args[0]));
+                return null;
+            case "removeItemFlags":
+                List.of((ItemFlag[]) args[0]).forEach(itemFlags::remove);
+                return null;
+            case "getItemFlags":
+                return EnumSet.copyOf(itemFlags);
+            case "hasItemFlag":
+                return itemFlags.contains((ItemFlag) args[0]);
+            case "addEnchant":
+                Enchantment enchantment = (Enchantment) args[0];
+                int level = (int) args[1];
+                Integer previous = enchants.get(enchantment);
+                if (previous != null && previous == level) return false;
+                enchants.put(enchantment, level);
+                return true;
+            case "removeEnchant":
+                return enchants.remove((Enchantment) args[0]) != null;
+            case "hasEnchants":
+                return !enchants.isEmpty();
+            case "hasEnchant":
+                return enchants.containsKey((Enchantment) args[0]);
+            case "getEnchantLevel":
+                return enchants.getOrDefault((Enchantment) args[0], 0);
+            case "getEnchants":
+                return Collections.unmodifiableMap(new LinkedHashMap<>(enchants));
+            case "addAttributeModifier":
+                return attributeModifiers.computeIfAbsent((Attribute) args[0], attribute -> new ArrayList<>())
+                        .add((AttributeModifier) args[1]);
+            case "hasAttributeModifiers":
+                return !attributeModifiers.isEmpty();
+            case "isUnbreakable":
+                return unbreakable;
+            case "setUnbreakable":
+                unbreakable = (boolean) args[0];
+                return null;
+            case "clone":
+                return create(copy());
+            case "equals":
+                HeadlessItemMeta other = of(args[0]);
+                return other != null && stateEquals(other);
+            case "hashCode":
+                return stateHashCode();
+            case "toString":
+                return "HeadlessItemMeta{displayName=" + displayName + ", lore=" + lore + "}";
+            default:
+                return Proxies.defaultValue(method.getReturnType());
+        }
+    }
+
+    private HeadlessItemMeta copy() {
+        HeadlessItemMeta copy = new HeadlessItemMeta();
+        copy.displayName = displayName;
+        copy.lore = (lore == null) ? null : new ArrayList<>(lore);
+        copy.customModelData = customModelData;
+        copy.itemFlags.addAll(itemFlags);
+        copy.enchants.putAll(enchants);
+        attributeModifiers.forEach((attribute, modifiers) ->
+                copy.attributeModifiers.put(attribute, new ArrayList<>(modifiers)));
+        copy.unbreakable = unbreakable;
+        return copy;
+    }
+
+    /**
+     * Compares the state of this item meta to the given one.
+     *
+     * @param other the other item meta
+     * @return true if both have the same properties
+     */
+    boolean stateEquals(HeadlessItemMeta other) {
+        // Attribute modifiers are compared by their count, since their UUIDs are random
+        return Objects.equals(displayName, other.displayName) && Objects.equals(lore, other.lore)
+               && Objects.equals(customModelData, other.customModelData) && itemFlags.equals(other.itemFlags)
+               && enchants.equals(other.enchants) && unbreakable == other.unbreakable
+               && modifierCount() == other.modifierCount();
+    }
+
+    private int stateHashCode() {
+        return Objects.hash(displayName, lore, customModelData, itemFlags, enchants, unbreakable, modifierCount());
+    }
+
+    private int modifierCount() {
+        int count = 0;
+        for (List<AttributeModifier> modifiers : attributeModifiers.values()) {
+            count += modifiers.size();
+        }
+        return count;
+    }
+}
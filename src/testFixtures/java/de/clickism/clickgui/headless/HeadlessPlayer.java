@@ -0,0 +1,203 @@
+package de.clickism.clickgui.headless;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A synthetic player of the {@link HeadlessServer}.
+ * <p>The player opens and closes inventories like a real client would, calling the same events as the server,
+ * and can click and drag in the inventory it is viewing.</p>
+ */
+public final class HeadlessPlayer {
+    private final HeadlessServer server;
+    private final String name;
+    private final UUID uuid;
+    private final Player player;
+    private final PlayerInventory inventory;
+    @Nullable
+    private HeadlessInventoryView view;
+    @Nullable
+    private ItemStack cursor;
+
+    /**
+     * Creates a new headless player.
+     *
+     * @param server the server
+     * @param name   the name of the player
+     * @param uuid   the UUID of the player
+     */
+    HeadlessPlayer(HeadlessServer server, String name, UUID uuid) {
+        this.server = server;
+        this.name = name;
+        this.uuid = uuid;
+        this.player = Proxies.create(this::handle, Player.class);
+        this.inventory = HeadlessInventory.createPlayerInventory(player);
+    }
+
+    private Object handle(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getUniqueId":
+                return uuid;
+            case "getName":
+            case "getDisplayName":
+                return name;
+            case "isOnline":
+            case "isValid":
+                return server.isOnline(this);
+            case "hasPermission":
+                return true;
+            case "openInventory":
+                if (args[0] instanceof Inventory opened) return openInventory(opened);
+                break;
+            case "closeInventory":
+                closeInventory();
+                return null;
+            case "getOpenInventory":
+                return view;
+            case "getInventory":
+                return inventory;
+            case "getItemOnCursor":
+                return (cursor == null) ? null : cursor.clone();
+            case "setItemOnCursor":
+                cursor = (ItemStack) args[0];
+                return null;
+            case "getServer":
+                return server.getServer();
+            case "updateInventory":
+                return null;
+        }
+        return Proxies.fallback(proxy, method, args);
+    }
+
+    private InventoryView openInventory(Inventory inventory) {
+        closeInventory();
+        HeadlessInventoryView newView = new HeadlessInventoryView(inventory, this.inventory, player);
+        HeadlessInventory state = HeadlessInventory.of(inventory);
+        if (state != null) {
+            state.viewers().add(player);
+        }
+        view = newView;
+        return newView;
+    }
+
+    /**
+     * Closes the inventory the player is viewing, calling an {@link InventoryCloseEvent}.
+     */
+    public void closeInventory() {
+        HeadlessInventoryView closed = view;
+        if (closed == null) return;
+        view = null;
+        HeadlessInventory state = HeadlessInventory.of(closed.getTopInventory());
+        if (state != null) {
+            state.viewers().remove(player);
+        }
+        server.callEvent(new InventoryCloseEvent(closed));
+    }
+
+    /**
+     * Left clicks the given slot of the inventory the player is viewing.
+     *
+     * @param rawSlot the raw slot
+     * @return the called event
+     * @throws IllegalStateException if the player isn't viewing an inventory
+     */
+    public InventoryClickEvent click(int rawSlot) {
+        return click(rawSlot, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    /**
+     * Clicks the given slot of the inventory the player is viewing.
+     *
+     * @param rawSlot the raw slot
+     * @param click   the type of click
+     * @param action  the resulting action
+     * @return the called event
+     * @throws IllegalStateException if the player isn't viewing an inventory
+     */
+    public InventoryClickEvent click(int rawSlot, ClickType click, InventoryAction action) {
+        InventoryClickEvent event = new InventoryClickEvent(requireView(), InventoryType.SlotType.CONTAINER,
+                rawSlot, click, action);
+        server.callEvent(event);
+        return event;
+    }
+
+    /**
+     * Drags the cursor over the given slots of the inventory the player is viewing.
+     *
+     * @param slots the raw slots and the items they would contain after the drag
+     * @return the called event
+     * @throws IllegalStateException if the player isn't viewing an inventory
+     */
+    public InventoryDragEvent drag(Map<Integer, ItemStack> slots) {
+        InventoryDragEvent event = new InventoryDragEvent(requireView(), null, cursor, false, slots);
+        server.callEvent(event);
+        return event;
+    }
+
+    private HeadlessInventoryView requireView() {
+        if (view == null) {
+            throw new IllegalStateException("Player " + name + " is not viewing an inventory");
+        }
+        return view;
+    }
+
+    /**
+     * Sets the item on the cursor of the player.
+     *
+     * @param cursor the item, or null
+     */
+    public void setCursor(@Nullable ItemStack cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Gets the view the player has open.
+     *
+     * @return the view, or null if the player isn't viewing an inventory
+     */
+    @Nullable
+    public InventoryView getOpenView() {
+        return view;
+    }
+
+    /**
+     * Gets the Bukkit player backed by this headless player.
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the name of the player.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the UUID of the player.
+     *
+     * @return the UUID
+     */
+    public UUID getUniqueId() {
+        return uuid;
+    }
+}
@@ -0,0 +1,28 @@
+package de.clickism.clickgui.headless;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+
+/**
+ * The plugin menu managers of the headless server are registered with.
+ * <p>The plugin is never loaded or enabled, it only provides the context required by the API.</p>
+ */
+final class HeadlessPlugin extends JavaPlugin {
+    private static final File DATA_FOLDER = new File(System.getProperty("java.io.tmpdir"), "clickgui-headless");
+
+    /**
+     * Creates a new headless plugin.
+     *
+     * @param server the headless server
+     */
+    @SuppressWarnings("deprecation")
+    HeadlessPlugin(Server server) {
+        super(new JavaPluginLoader(server),
+                new PluginDescriptionFile("HeadlessPlugin", "1.0", HeadlessPlugin.class.getName()),
+                DATA_FOLDER, new File(DATA_FOLDER, "HeadlessPlugin.jar"));
+    }
+}
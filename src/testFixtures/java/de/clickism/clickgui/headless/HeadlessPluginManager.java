@@ -0,0 +1,116 @@
+package de.clickism.clickgui.headless;
+
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.PluginManager;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An in-memory {@link PluginManager} that only dispatches events to registered listeners.
+ * <p>Handlers are ordered by their priority, and the handlers of each event class are resolved once.</p>
+ */
+final class HeadlessPluginManager implements Proxies.Handler {
+    private final List<RegisteredHandler> handlers = new ArrayList<>();
+    private final Map<Class<?>, List<RegisteredHandler>> handlersByEvent = new HashMap<>();
+
+    /**
+     * Creates a new plugin manager without any listeners.
+     */
+    HeadlessPluginManager() {
+    }
+
+    /**
+     * Creates a plugin manager backed by this state.
+     *
+     * @return the plugin manager
+     */
+    PluginManager proxy() {
+        return Proxies.create(this, PluginManager.class);
+    }
+
+    /**
+     * Registers all event handlers of the given listener.
+     *
+     * @param listener the listener
+     */
+    void registerEvents(Listener listener) {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (Method method : listener.getClass().getMethods()) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.getParameterCount() != 1) continue;
+            Class<?> eventClass = method.getParameterTypes()[0];
+            if (!Event.class.isAssignableFrom(eventClass)) continue;
+            try {
+                MethodHandle handle = lookup.unreflect(method).bindTo(listener);
+                handlers.add(new RegisteredHandler(eventClass, handle, annotation));
+            } catch (IllegalAccessException exception) {
+                throw new IllegalArgumentException("Cannot access event handler " + method, exception);
+            }
+        }
+        handlers.sort(Comparator.comparing(handler -> handler.annotation.priority()));
+        handlersByEvent.clear();
+    }
+
+    /**
+     * Unregisters all listeners.
+     */
+    void clear() {
+        handlers.clear();
+        handlersByEvent.clear();
+    }
+
+    /**
+     * Calls the given event, passing it to all handlers accepting it.
+     *
+     * @param event the event
+     */
+    void callEvent(Event event) {
+        List<RegisteredHandler> eventHandlers = handlersByEvent.computeIfAbsent(event.getClass(), eventClass -> {
+            List<RegisteredHandler> matching = new ArrayList<>();
+            for (RegisteredHandler handler : handlers) {
+                if (handler.eventClass.isAssignableFrom(eventClass)) {
+                    matching.add(handler);
+                }
+            }
+            return matching;
+        });
+        for (RegisteredHandler handler : eventHandlers) {
+            if (handler.annotation.ignoreCancelled() && event instanceof Cancellable cancellable
+                && cancellable.isCancelled()) continue;
+            try {
+                handler.handle.invoke(event);
+            } catch (RuntimeException | Error exception) {
+                throw exception;
+            } catch (Throwable throwable) {
+                throw new IllegalStateException("Could not pass event " + event.getEventName(), throwable);
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "registerEvents":
+                registerEvents((Listener) args[0]);
+                return null;
+            case "callEvent":
+                callEvent((Event) args[0]);
+                return null;
+            default:
+                return Proxies.fallback(proxy, method, args);
+        }
+    }
+
+    private record RegisteredHandler(Class<?> eventClass, MethodHandle handle, EventHandler annotation) {
+    }
+}
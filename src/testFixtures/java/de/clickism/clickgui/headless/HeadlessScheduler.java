@@ -0,0 +1,111 @@
+package de.clickism.clickgui.headless;
+
+import de.clickism.clickgui.menu.MenuScheduler;
+import org.bukkit.entity.HumanEntity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * A single-threaded {@link MenuScheduler} whose ticks are advanced manually using {@link #tick()}.
+ * <p>Tasks executed for players run immediately, since the caller is assumed to be the main thread.</p>
+ */
+public final class HeadlessScheduler implements MenuScheduler {
+    private final Queue<Runnable> nextTick = new ArrayDeque<>();
+    private final List<RepeatingTask> repeatingTasks = new ArrayList<>();
+    private long currentTick;
+
+    /**
+     * Creates a new headless scheduler.
+     */
+    public HeadlessScheduler() {
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(HumanEntity player) {
+        return true;
+    }
+
+    @Override
+    public void execute(HumanEntity player, Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void runNextTick(Runnable task) {
+        nextTick.add(task);
+    }
+
+    @Override
+    public Task runRepeating(Runnable task, long period) {
+        RepeatingTask repeatingTask = new RepeatingTask(task, Math.max(1, period), currentTick + 1);
+        repeatingTasks.add(repeatingTask);
+        return () -> repeatingTask.cancelled = true;
+    }
+
+    /**
+     * Advances the scheduler by one tick, running all tasks scheduled for the next tick,
+     * and all repeating tasks that are due.
+     */
+    public void tick() {
+        currentTick++;
+        // Tasks scheduled while running the current ones run on the next tick
+        for (int i = nextTick.size(); i > 0; i--) {
+            nextTick.poll().run();
+        }
+        repeatingTasks.removeIf(task -> task.cancelled);
+        for (RepeatingTask task : new ArrayList<>(repeatingTasks)) {
+            if (task.cancelled || task.nextRun > currentTick) continue;
+            task.nextRun = currentTick + task.period;
+            task.runnable.run();
+        }
+    }
+
+    /**
+     * Advances the scheduler by the given number of ticks.
+     *
+     * @param ticks the number of ticks
+     */
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Gets the number of ticks the scheduler was advanced by.
+     *
+     * @return the current tick
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Gets the number of pending tasks, including repeating tasks.
+     *
+     * @return the number of pending tasks
+     */
+    public int getPendingTasks() {
+        int pending = nextTick.size();
+        for (RepeatingTask task : repeatingTasks) {
+            if (!task.cancelled) pending++;
+        }
+        return pending;
+    }
+
+    private static final class RepeatingTask {
+        private final Runnable runnable;
+        private final long period;
+        private long nextRun;
+        private boolean cancelled;
+
+        private RepeatingTask(Runnable runnable, long period, long nextRun) {
+            this.runnable = runnable;
+            this.period = period;
+            this.nextRun = nextRun;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package de.clickism.clickgui.headless;
+
+import de.clickism.clickgui.menu.MenuManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.InventoryHolder;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An in-memory stand-in for the Bukkit server, used to run menus without a live server.
+ * <p>The headless server implements the parts of the API used by menus: inventories, item metas,
+ * players opening, clicking in and closing inventories, and the event dispatch to listeners.
+ * All other methods of the API return default values.</p>
+ * <p>Since Bukkit only accepts a single server, the headless server is a singleton that is installed
+ * by {@link #start()}. Use {@link #reset()} to remove the players and listeners of a previous run.</p>
+ * <p>The headless server is not thread-safe, and should only be used from a single thread.</p>
+ */
+public final class HeadlessServer {
+    private static HeadlessServer instance;
+
+    private final Logger logger = Logger.getLogger("HeadlessServer");
+    private final HeadlessPluginManager pluginManager = new HeadlessPluginManager();
+    private final PluginManager pluginManagerProxy = pluginManager.proxy();
+    private final ItemFactory itemFactory = HeadlessItemFactory.create();
+    private final Map<UUID, HeadlessPlayer> players = new LinkedHashMap<>();
+    private final Server server;
+    private JavaPlugin plugin;
+
+    private HeadlessServer() {
+        this.server = Proxies.create(this::handle, Server.class);
+        logger.setLevel(Level.WARNING);
+    }
+
+    /**
+     * Gets the headless server, installing it as the Bukkit server if needed.
+     *
+     * @throws IllegalStateException if another server was already installed
+     * @return the headless server
+     */
+    public static synchronized HeadlessServer start() {
+        if (instance != null) return instance;
+        if (Bukkit.getServer() != null) {
+            throw new IllegalStateException("Another server is already running");
+        }
+        HeadlessServer headlessServer = new HeadlessServer();
+        Bukkit.setServer(headlessServer.server);
+        instance = headlessServer;
+        return headlessServer;
+    }
+
+    /**
+     * Removes all players and listeners, i.e. the menu managers of a previous run.
+     */
+    public void reset() {
+        players.clear();
+        pluginManager.clear();
+    }
+
+    /**
+     * Creates a new menu manager registered with the plugin of the headless server.
+     *
+     * @param scheduler the scheduler advancing the ticks of the menu manager
+     * @return the menu manager
+     */
+    public MenuManager createMenuManager(HeadlessScheduler scheduler) {
+        return new MenuManager(getPlugin(), scheduler);
+    }
+
+    /**
+     * Creates a new player that is online until it is removed.
+     *
+     * @param name the name of the player
+     * @return the player
+     */
+    public HeadlessPlayer createPlayer(String name) {
+        HeadlessPlayer player = new HeadlessPlayer(this, name, UUID.nameUUIDFromBytes(name.getBytes()));
+        players.put(player.getUniqueId(), player);
+        return player;
+    }
+
+    /**
+     * Removes the given player, closing its inventory first.
+     *
+     * @param player the player
+     */
+    public void removePlayer(HeadlessPlayer player) {
+        player.closeInventory();
+        players.remove(player.getUniqueId(), player);
+    }
+
+    /**
+     * Checks whether the given player is online.
+     *
+     * @param player the player
+     * @return true if the player was created and not removed since
+     */
+    public boolean isOnline(HeadlessPlayer player) {
+        return players.get(player.getUniqueId()) == player;
+    }
+
+    /**
+     * Gets the online players.
+     *
+     * @return the players
+     */
+    public Collection<HeadlessPlayer> getPlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    /**
+     * Calls the given event, passing it to all registered listeners.
+     *
+     * @param event the event
+     */
+    public void callEvent(Event event) {
+        pluginManager.callEvent(event);
+    }
+
+    /**
+     * Gets the plugin listeners are registered with, creating it if needed.
+     *
+     * @return the plugin
+     */
+    public JavaPlugin getPlugin() {
+        if (plugin == null) {
+            plugin = new HeadlessPlugin(server);
+        }
+        return plugin;
+    }
+
+    /**
+     * Gets the Bukkit server backed by the headless server.
+     *
+     * @return the server
+     */
+    public Server getServer() {
+        return server;
+    }
+
+    private Object handle(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "getLogger":
+                return logger;
+            case "getName":
+                return "HeadlessServer";
+            case "getVersion":
+            case "getBukkitVersion":
+                return "1.20.1-R0.1-SNAPSHOT";
+            case "isPrimaryThread":
+                return true;
+            case "getPluginManager":
+                return pluginManagerProxy;
+            case "getItemFactory":
+                return itemFactory;
+            case "createInventory":
+                if (args.length >= 2) return createInventory(args);
+                break;
+            case "getOnlinePlayers":
+                List<Player> onlinePlayers = new ArrayList<>(players.size());
+                players.values().forEach(player -> onlinePlayers.add(player.getPlayer()));
+                return onlinePlayers;
+            case "getPlayer":
+                if (args.length == 1 && args[0] instanceof UUID uuid) return getPlayer(uuid);
+                break;
+        }
+        return Proxies.fallback(proxy, method, args);
+    }
+
+    private Object createInventory(Object[] args) {
+        InventoryHolder holder = (InventoryHolder) args[0];
+        String title = (args.length > 2) ? (String) args[2] : null;
+        if (args[1] instanceof InventoryType type) {
+            return HeadlessInventory.create(holder, type, type.getDefaultSize(),
+                    (title == null) ? type.getDefaultTitle() : title);
+        }
+        return HeadlessInventory.create(holder, InventoryType.CHEST, (int) args[1], (title == null) ? "Chest" : title);
+    }
+
+    @Nullable
+    private Player getPlayer(UUID uuid) {
+        HeadlessPlayer player = players.get(uuid);
+        return (player == null) ? null : player.getPlayer();
+    }
+}
@@ -0,0 +1,250 @@
+package de.clickism.clickgui.headless;
+
+import de.clickism.clickgui.menu.IconRegistry;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The results of a {@link LoadSimulation}.
+ * <p>Latencies are measured per operation, and per tick, where a tick includes all operations
+ * performed by the players in that tick and the scheduled tasks of the menu manager.</p>
+ */
+public final class LoadReport {
+    /**
+     * The operations performed by the simulation.
+     */
+    public enum Operation {
+        /**
+         * Opening a menu.
+         */
+        OPEN,
+        /**
+         * Clicking a slot of the open menu.
+         */
+        CLICK,
+        /**
+         * Dragging over slots of the open menu.
+         */
+        DRAG,
+        /**
+         * Refreshing the open menu.
+         */
+        REFRESH,
+        /**
+         * Closing the open menu.
+         */
+        CLOSE,
+        /**
+         * A whole tick, including the operations of all players.
+         */
+        TICK
+    }
+
+    private final int players;
+    private final int ticks;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+    private final int peakOpenViews;
+    private final int distinctIcons;
+    private final long sharedIcons;
+    private final Map<Operation, Samples> samples;
+
+    LoadReport(int players, int ticks, long elapsedNanos, long allocatedBytes, int peakOpenViews,
+               Map<Operation, Samples> samples) {
+        this.players = players;
+        this.ticks = ticks;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.peakOpenViews = peakOpenViews;
+        this.distinctIcons = IconRegistry.getDistinctIcons();
+        this.sharedIcons = IconRegistry.getSharedIcons();
+        this.samples = new EnumMap<>(samples);
+    }
+
+    /**
+     * Gets the number of simulated players.
+     *
+     * @return the number of players
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the number of measured ticks.
+     *
+     * @return the number of ticks
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the number of times the given operation was performed.
+     *
+     * @param operation the operation
+     * @return the count
+     */
+    public int getCount(Operation operation) {
+        return samples.get(operation).size;
+    }
+
+    /**
+     * Gets the number of operations performed by players per second.
+     *
+     * @return the throughput
+     */
+    public double getThroughput() {
+        long operations = 0;
+        for (Map.Entry<Operation, Samples> entry : samples.entrySet()) {
+            if (entry.getKey() != Operation.TICK) {
+                operations += entry.getValue().size;
+            }
+        }
+        return operations / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the given percentile of the latency of an operation.
+     *
+     * @param operation  the operation
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds, or 0 if the operation wasn't performed
+     */
+    public long getPercentile(Operation operation, double percentile) {
+        return samples.get(operation).percentile(percentile);
+    }
+
+    /**
+     * Gets the mean latency of an operation.
+     *
+     * @param operation the operation
+     * @return the mean latency in nanoseconds, or 0 if the operation wasn't performed
+     */
+    public double getMean(Operation operation) {
+        return samples.get(operation).mean();
+    }
+
+    /**
+     * Gets the number of bytes allocated by the simulation while it was measured.
+     *
+     * @return the allocated bytes, or -1 if the JVM doesn't support measuring allocations
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the number of bytes allocated per second.
+     *
+     * @return the allocation rate, or -1 if the JVM doesn't support measuring allocations
+     */
+    public double getAllocationRate() {
+        return (allocatedBytes < 0) ? -1 : allocatedBytes / (elapsedNanos / 1e9);
+    }
+
+    /**
+     * Gets the highest number of menus that were open at the same time.
+     *
+     * @return the peak number of open views
+     */
+    public int getPeakOpenViews() {
+        return peakOpenViews;
+    }
+
+    /**
+     * Gets the number of distinct interned icons in use at the end of the simulation.
+     * See {@link IconRegistry#getDistinctIcons()}.
+     *
+     * @return the number of distinct icons
+     */
+    public int getDistinctIcons() {
+        return distinctIcons;
+    }
+
+    /**
+     * Gets the number of times an interned icon was shared until the end of the simulation.
+     * See {@link IconRegistry#getSharedIcons()}.
+     *
+     * @return the number of shared icons
+     */
+    public long getSharedIcons() {
+        return sharedIcons;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT, "%d players, %d ticks, %.1f ms, peak %d open views%n",
+                players, ticks, elapsedNanos / 1e6, peakOpenViews));
+        builder.append(String.format(Locale.ROOT, "Throughput: %.0f ops/s%n", getThroughput()));
+        builder.append(String.format(Locale.ROOT, "Icons: %d distinct, shared %d times%n", distinctIcons, sharedIcons));
+        if (allocatedBytes >= 0) {
+            builder.append(String.format(Locale.ROOT, "Allocation rate: %.1f MB/s (%.0f bytes/tick)%n",
+                    getAllocationRate() / (1024 * 1024), (double) allocatedBytes / ticks));
+        }
+        builder.append(String.format(Locale.ROOT, "%-8s %10s %10s %10s %10s %10s %10s%n",
+                "", "count", "mean", "p50", "p99", "p99.9", "max"));
+        for (Operation operation : Operation.values()) {
+            Samples operationSamples = samples.get(operation);
+            builder.append(String.format(Locale.ROOT, "%-8s %10d %10s %10s %10s %10s %10s%n",
+                    operation, operationSamples.size,
+                    format(operationSamples.mean()),
+                    format(operationSamples.percentile(50)),
+                    format(operationSamples.percentile(99)),
+                    format(operationSamples.percentile(99.9)),
+                    format(operationSamples.percentile(100))));
+        }
+        return builder.toString();
+    }
+
+    private static String format(double nanos) {
+        if (nanos >= 1e6) return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+        if (nanos >= 1e3) return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+        return String.format(Locale.ROOT, "%.0fns", nanos);
+    }
+
+    /**
+     * The latencies recorded for an operation.
+     */
+    static final class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private boolean sorted = true;
+
+        /**
+         * Records a latency.
+         *
+         * @param nanos the latency in nanoseconds
+         */
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            sorted = false;
+        }
+
+        private long percentile(double percentile) {
+            if (size == 0) return 0;
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            return values[Math.max(0, Math.min(size - 1, index))];
+        }
+
+        private double mean() {
+            if (size == 0) return 0;
+            double sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum / size;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package de.clickism.clickgui.headless;
+
+import de.clickism.clickgui.headless.LoadReport.Operation;
+import de.clickism.clickgui.headless.LoadReport.Samples;
+import de.clickism.clickgui.menu.*;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Simulates thousands of players using menus on a {@link HeadlessServer}.
+ * <p>Every tick, each player performs an action with the configured chance: players without an open menu
+ * open one, and players viewing a menu click, drag, refresh or close it. The latency of every action,
+ * the duration of every tick, and the memory allocated by the simulation are reported in a {@link LoadReport}.</p>
+ * <p>The simulation can be run from the command line, i.e. using the {@code loadSimulation} Gradle task:</p>
+ * <pre>
+ * ./gradlew loadSimulation --args="--players=5000 --ticks=600"
+ * </pre>
+ */
+public final class LoadSimulation {
+    /**
+     * The background of the shop menu, which is shared by the menus of all players.
+     */
+    @Nullable
+    private static LayoutBackground shopBackground;
+
+    private int players = 1000;
+    private int ticks = 600;
+    private int warmupTicks = 200;
+    private double actionChance = 0.1;
+    private long seed = 42;
+    private boolean coalesceRefreshes;
+    private Function<Player, Menu> menuFactory = LoadSimulation::createShopMenu;
+
+    /**
+     * Creates a new load simulation with the default settings.
+     */
+    public LoadSimulation() {
+    }
+
+    /**
+     * Sets the number of simulated players.
+     *
+     * @param players the number of players
+     * @return this simulation
+     */
+    public LoadSimulation setPlayers(int players) {
+        this.players = players;
+        return this;
+    }
+
+    /**
+     * Sets the number of measured ticks.
+     *
+     * @param ticks the number of ticks
+     * @return this simulation
+     */
+    public LoadSimulation setTicks(int ticks) {
+        this.ticks = ticks;
+        return this;
+    }
+
+    /**
+     * Sets the number of ticks simulated before measuring, to let the JIT compiler warm up.
+     *
+     * @param warmupTicks the number of warmup ticks
+     * @return this simulation
+     */
+    public LoadSimulation setWarmupTicks(int warmupTicks) {
+        this.warmupTicks = warmupTicks;
+        return this;
+    }
+
+    /**
+     * Sets the chance of a player performing an action in a tick.
+     *
+     * @param actionChance the chance, between 0 and 1
+     * @return this simulation
+     */
+    public LoadSimulation setActionChance(double actionChance) {
+        this.actionChance = actionChance;
+        return this;
+    }
+
+    /**
+     * Sets the seed of the random actions, so that runs can be repeated.
+     *
+     * @param seed the seed
+     * @return this simulation
+     */
+    public LoadSimulation setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Sets whether the menu manager coalesces refreshes.
+     * See {@link MenuManager#setCoalesceRefreshes(boolean)}.
+     *
+     * @param coalesceRefreshes whether refreshes are coalesced
+     * @return this simulation
+     */
+    public LoadSimulation setCoalesceRefreshes(boolean coalesceRefreshes) {
+        this.coalesceRefreshes = coalesceRefreshes;
+        return this;
+    }
+
+    /**
+     * Sets the factory creating the menus opened by the players.
+     * <p>By default, a shop menu with dynamic icons is opened.</p>
+     *
+     * @param menuFactory the menu factory
+     * @return this simulation
+     */
+    public LoadSimulation setMenuFactory(Function<Player, Menu> menuFactory) {
+        this.menuFactory = menuFactory;
+        return this;
+    }
+
+    /**
+     * Runs the simulation.
+     *
+     * @return the report
+     */
+    public LoadReport run() {
+        HeadlessServer server = HeadlessServer.start();
+        server.reset();
+        HeadlessScheduler scheduler = new HeadlessScheduler();
+        MenuManager menuManager = server.createMenuManager(scheduler);
+        menuManager.setCoalesceRefreshes(coalesceRefreshes);
+        List<HeadlessPlayer> simulatedPlayers = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            simulatedPlayers.add(server.createPlayer("Player" + i));
+        }
+        Random random = new Random(seed);
+        Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new Samples());
+        }
+        for (int tick = 0; tick < warmupTicks; tick++) {
+            tick(simulatedPlayers, scheduler, menuManager, random, null);
+        }
+        int peakOpenViews = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int tick = 0; tick < ticks; tick++) {
+            int openViews = tick(simulatedPlayers, scheduler, menuManager, random, samples);
+            peakOpenViews = Math.max(peakOpenViews, openViews);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        long allocated = (allocatedBefore < 0 || allocatedAfter < 0) ? -1 : allocatedAfter - allocatedBefore;
+        simulatedPlayers.forEach(server::removePlayer);
+        return new LoadReport(players, ticks, elapsed, allocated, peakOpenViews, samples);
+    }
+
+    private int tick(List<HeadlessPlayer> simulatedPlayers, HeadlessScheduler scheduler, MenuManager menuManager,
+                     Random random, Map<Operation, Samples> samples) {
+        long tickStart = System.nanoTime();
+        int openViews = 0;
+        for (HeadlessPlayer player : simulatedPlayers) {
+            MenuView view = menuManager.getOpenView(player.getUniqueId());
+            if (random.nextDouble() < actionChance) {
+                Operation operation = (view == null) ? Operation.OPEN : pickOperation(random);
+                long start = System.nanoTime();
+                view = perform(operation, player, view, menuManager, random);
+                if (samples != null) {
+                    samples.get(operation).add(System.nanoTime() - start);
+                }
+            }
+            if (view != null) {
+                openViews++;
+            }
+        }
+        scheduler.tick();
+        if (samples != null) {
+            samples.get(Operation.TICK).add(System.nanoTime() - tickStart);
+        }
+        return openViews;
+    }
+
+    private static Operation pickOperation(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 70) return Operation.CLICK;
+        if (roll < 75) return Operation.DRAG;
+        if (roll < 90) return Operation.REFRESH;
+        return Operation.CLOSE;
+    }
+
+    private MenuView perform(Operation operation, HeadlessPlayer player, MenuView view, MenuManager menuManager,
+                             Random random) {
+        switch (operation) {
+            case OPEN:
+                return menuFactory.apply(player.getPlayer()).open(menuManager);
+            case CLICK:
+                click(player, view, random);
+                break;
+            case DRAG:
+                int size = view.getInventory().getSize();
+                player.drag(Map.of(random.nextInt(size), new ItemStack(Material.STONE)));
+                break;
+            case REFRESH:
+                view.refresh();
+                break;
+            case CLOSE:
+                player.closeInventory();
+                return null;
+        }
+        // Clicks may open another menu or close the menu
+        return menuManager.getOpenView(player.getUniqueId());
+    }
+
+    private static void click(HeadlessPlayer player, MenuView view, Random random) {
+        int slot = random.nextInt(view.getInventory().getSize());
+        int roll = random.nextInt(100);
+        if (roll < 90) {
+            player.click(slot);
+        } else if (roll < 95) {
+            player.click(slot, ClickType.SHIFT_LEFT, InventoryAction.MOVE_TO_OTHER_INVENTORY);
+        } else {
+            player.setCursor(new ItemStack(Material.STONE));
+            player.click(slot, ClickType.DOUBLE_CLICK, InventoryAction.COLLECT_TO_CURSOR);
+            player.setCursor(null);
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean)) return -1;
+        if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) return -1;
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static LayoutBackground getShopBackground() {
+        if (shopBackground == null) {
+            shopBackground = MenuBackground.fill(Button.withIcon(Material.BLACK_STAINED_GLASS_PANE).setName(" ").intern());
+        }
+        return shopBackground;
+    }
+
+    /**
+     * Creates the default menu of the simulation, a shop with a bordered
+     * background and items whose stock is shown in their lore.
+     *
+     * @param player the player viewing the menu
+     * @return the menu
+     */
+    public static Menu createShopMenu(Player player) {
+        MenuType type = MenuType.MENU_9X5;
+        Menu menu = new Menu(player, type)
+                .setTitle("&8Shop")
+                .setBackground(getShopBackground());
+        int[] stock = new int[type.getSize()];
+        for (int row = 1; row < 4; row++) {
+            for (int column = 1; column < 8; column++) {
+                int slot = row * 9 + column;
+                stock[slot] = 64;
+                menu.addButton(slot, Button.withIcon(() -> Icon.of(Material.DIAMOND)
+                                .setName("&b&lItem #" + slot)
+                                .setLore("&7Price: &a" + slot * 10, "&7Stock: &e" + stock[slot]))
+                        .setOnClick((viewer, view, clicked) -> {
+                            if (stock[clicked] > 0) {
+                                stock[clicked]--;
+                            }
+                            view.refresh(clicked);
+                        }));
+            }
+        }
+        return menu;
+    }
+
+    /**
+     * Runs the simulation with the options given as arguments, and prints the report.
+     * <p>Supported options are {@code --players}, {@code --ticks}, {@code --warmup-ticks},
+     * {@code --action-chance}, {@code --seed} and {@code --coalesce}.</p>
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+        LoadSimulation simulation = new LoadSimulation();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            String value = (option.length > 1) ? option[1] : "true";
+            switch (option[0]) {
+                case "--players":
+                    simulation.setPlayers(Integer.parseInt(value));
+                    break;
+                case "--ticks":
+                    simulation.setTicks(Integer.parseInt(value));
+                    break;
+                case "--warmup-ticks":
+                    simulation.setWarmupTicks(Integer.parseInt(value));
+                    break;
+                case "--action-chance":
+                    simulation.setActionChance(Double.parseDouble(value));
+                    break;
+                case "--seed":
+                    simulation.setSeed(Long.parseLong(value));
+                    break;
+                case "--coalesce":
+                    simulation.setCoalesceRefreshes(Boolean.parseBoolean(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        System.out.print(simulation.run());
+    }
+}
@@ -0,0 +1,110 @@
+package de.clickism.clickgui.headless;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates proxies for the parts of the Bukkit API that are implemented by the headless server.
+ */
+final class Proxies {
+    private Proxies() {
+    }
+
+    /**
+     * Creates a proxy implementing the given interface.
+     *
+     * @param handler the handler
+     * @param type    the interface
+     * @param <T>     the type of the proxy
+     * @return the proxy
+     */
+    static <T> T create(Handler handler, Class<T> type) {
+        Object proxy = Proxy.newProxyInstance(Proxies.class.getClassLoader(), new Class<?>[]{type}, new Dispatcher(handler));
+        return type.cast(proxy);
+    }
+
+    /**
+     * Gets the handler of a proxy created by {@link #create(Handler, Class)}.
+     *
+     * @param proxy the proxy
+     * @return the handler, or null if the proxy wasn't created by this class
+     */
+    static Handler handlerOf(Object proxy) {
+        if (proxy == null || !Proxy.isProxyClass(proxy.getClass())) return null;
+        return (Proxy.getInvocationHandler(proxy) instanceof Dispatcher dispatcher) ? dispatcher.handler : null;
+    }
+
+    private record Dispatcher(Handler handler) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return handler.invoke(proxy, method, (args == null) ? new Object[0] : args);
+        }
+    }
+
+    /**
+     * Handles the calls made to a proxy.
+     */
+    @FunctionalInterface
+    interface Handler {
+        /**
+         * Handles a call made to the proxy.
+         *
+         * @param proxy  the proxy
+         * @param method the method
+         * @param args   the arguments, never null
+         * @return the result
+         * @throws Throwable if the call fails
+         */
+        Object invoke(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Handles the methods of {@link Object} using identity, or returns the default value of the method.
+     *
+     * @param proxy  the proxy
+     * @param method the method
+     * @param args   the arguments, never null
+     * @return the result
+     */
+    static Object fallback(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                if (args.length == 1) return proxy == args[0];
+                break;
+            case "hashCode":
+                if (args.length == 0) return System.identityHashCode(proxy);
+                break;
+            case "toString":
+                if (args.length == 0) return method.getDeclaringClass().getSimpleName() + "@"
+                                             + Integer.toHexString(System.identityHashCode(proxy));
+                break;
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    /**
+     * Gets the value returned by methods the headless server doesn't implement.
+     *
+     * @param type the return type
+     * @return the default value
+     */
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0D;
+        if (type == float.class) return 0F;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        if (type == List.class) return Collections.emptyList();
+        if (type == Set.class) return Collections.emptySet();
+        if (type == Map.class) return Collections.emptyMap();
+        return null;
+    }
+}